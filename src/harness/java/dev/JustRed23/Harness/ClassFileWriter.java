@@ -0,0 +1,99 @@
+package dev.JustRed23.Harness;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+final class ClassFileWriter {
+
+    private static final int BASE_SIZE = 160;
+    private static final int METHOD_SIZE = 40;
+    private static final int MAX_METHODS = 60000;
+
+    private ClassFileWriter() {}
+
+    /**
+     * Writes a public class with a no-arg constructor calling its super class and enough trivial
+     * static methods to reach roughly {@code targetSize} bytes.
+     */
+    @NotNull
+    static byte[] write(@NotNull String className, @NotNull String superName, int targetSize) {
+        int methods = Math.min(Math.max((targetSize - BASE_SIZE) / METHOD_SIZE, 0), MAX_METHODS);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(BASE_SIZE + methods * METHOD_SIZE);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(0xCAFEBABE);
+            out.writeShort(0);
+            out.writeShort(52);
+
+            out.writeShort(11 + methods);
+            utf8(out, className.replace('.', '/'));     // 1
+            classRef(out, 1);                          // 2
+            utf8(out, superName.replace('.', '/'));     // 3
+            classRef(out, 3);                          // 4
+            utf8(out, "<init>");                       // 5
+            utf8(out, "()V");                          // 6
+            out.writeByte(12);                         // 7 NameAndType
+            out.writeShort(5);
+            out.writeShort(6);
+            out.writeByte(10);                         // 8 Methodref
+            out.writeShort(4);
+            out.writeShort(7);
+            utf8(out, "Code");                         // 9
+            utf8(out, "()I");                          // 10
+            for (int i = 0; i < methods; i++)
+                utf8(out, "m" + i);                    // 11 + i
+
+            out.writeShort(0x0021);
+            out.writeShort(2);
+            out.writeShort(4);
+            out.writeShort(0);
+            out.writeShort(0);
+
+            out.writeShort(1 + methods);
+
+            out.writeShort(0x0001);
+            out.writeShort(5);
+            out.writeShort(6);
+            out.writeShort(1);
+            code(out, 1, 1, new byte[]{0x2a, (byte) 0xb7, 0x00, 0x08, (byte) 0xb1});
+
+            for (int i = 0; i < methods; i++) {
+                out.writeShort(0x0009);
+                out.writeShort(11 + i);
+                out.writeShort(10);
+                out.writeShort(1);
+                code(out, 1, 0, new byte[]{0x03, (byte) 0xac});
+            }
+
+            out.writeShort(0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void utf8(DataOutputStream out, String value) throws IOException {
+        out.writeByte(1);
+        out.writeUTF(value);
+    }
+
+    private static void classRef(DataOutputStream out, int nameIndex) throws IOException {
+        out.writeByte(7);
+        out.writeShort(nameIndex);
+    }
+
+    private static void code(DataOutputStream out, int maxStack, int maxLocals, byte[] code) throws IOException {
+        out.writeShort(9);
+        out.writeInt(12 + code.length);
+        out.writeShort(maxStack);
+        out.writeShort(maxLocals);
+        out.writeInt(code.length);
+        out.write(code);
+        out.writeShort(0);
+        out.writeShort(0);
+    }
+}
@@ -0,0 +1,122 @@
+package dev.JustRed23.Harness;
+
+import dev.JustRed23.App.AppDescription;
+import dev.JustRed23.Exceptions.InvalidDescriptionException;
+import org.apache.commons.lang3.Validate;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+
+final class FleetGenerator {
+
+    private static final String APP_CLASS = "dev.JustRed23.App.App";
+    private static final String KEYSTORE_PASSWORD = "fleet-harness";
+
+    private final FleetSpec spec;
+    private final File directory;
+    private final Random random;
+
+    FleetGenerator(@NotNull FleetSpec spec, @NotNull File directory) {
+        Validate.notNull(spec, "Spec cannot be null");
+        Validate.notNull(directory, "Directory cannot be null");
+
+        this.spec = spec;
+        this.directory = directory;
+        this.random = new Random(spec.seed);
+    }
+
+    @NotNull
+    List<File> generate() throws IOException, InterruptedException {
+        if (!directory.isDirectory() && !directory.mkdirs())
+            throw new IOException("Cannot create " + directory);
+
+        List<File> jars = new ArrayList<>(spec.apps);
+        for (int i = 0; i < spec.apps; i++) {
+            String appName = i > 0 && random.nextDouble() < spec.nameCollisions ? "App" + random.nextInt(i) : "App" + i;
+            File jar = new File(directory, String.format("app-%05d.jar", i));
+            writeJar(jar, i, appName);
+            jars.add(jar);
+        }
+
+        if (spec.signed)
+            sign(jars);
+
+        return jars;
+    }
+
+    private void writeJar(File file, int index, String appName) throws IOException {
+        String pkg = "gen.a" + index;
+
+        Manifest manifest = new Manifest();
+        manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+
+        try (JarOutputStream out = new JarOutputStream(new BufferedOutputStream(new FileOutputStream(file)), manifest)) {
+            String descriptor = "name: " + appName + "\n"
+                    + "version: 1.0." + index + "\n"
+                    + "author: Fleet Harness\n"
+                    + "contributors: [Generator]\n"
+                    + "mainClass: " + pkg + ".Main\n";
+            write(out, "app.yml", descriptor.getBytes(StandardCharsets.UTF_8));
+
+            if (spec.binaryDescriptors) {
+                ByteArrayOutputStream binary = new ByteArrayOutputStream();
+                try {
+                    new AppDescription(new ByteArrayInputStream(descriptor.getBytes(StandardCharsets.UTF_8))).writeBinary(binary);
+                } catch (InvalidDescriptionException e) {
+                    throw new IllegalStateException("Generated an invalid app.yml", e);
+                }
+                write(out, "app.bin", binary.toByteArray());
+            }
+
+            write(out, classPath(pkg + ".Main"), ClassFileWriter.write(pkg + ".Main", APP_CLASS, spec.classSize));
+
+            for (int c = 0; c < spec.classesPerApp; c++) {
+                String className = random.nextDouble() < spec.classCollisions ? "gen.shared.C" + c : pkg + ".C" + c;
+                write(out, classPath(className), ClassFileWriter.write(className, "java.lang.Object", spec.classSize));
+            }
+
+            for (int r = 0; r < spec.resourcesPerApp; r++) {
+                byte[] data = new byte[spec.resourceSize];
+                random.nextBytes(data);
+                write(out, "res/r" + r + ".bin", data);
+            }
+        }
+    }
+
+    private void sign(List<File> jars) throws IOException, InterruptedException {
+        File keystore = new File(directory, "harness.jks");
+        if (!keystore.exists())
+            run(tool("keytool"), "-genkeypair", "-keystore", keystore.getPath(), "-storepass", KEYSTORE_PASSWORD, "-keypass", KEYSTORE_PASSWORD, "-alias", "harness", "-keyalg", "RSA", "-dname", "CN=Fleet Harness", "-validity", "1");
+
+        for (File jar : jars)
+            run(tool("jarsigner"), "-keystore", keystore.getPath(), "-storepass", KEYSTORE_PASSWORD, jar.getPath(), "harness");
+    }
+
+    private static void write(JarOutputStream out, String name, byte[] data) throws IOException {
+        out.putNextEntry(new JarEntry(name));
+        out.write(data);
+        out.closeEntry();
+    }
+
+    private static String classPath(String className) {
+        return className.replace('.', '/') + ".class";
+    }
+
+    private static String tool(String name) {
+        return new File(new File(System.getProperty("java.home"), "bin"), name).getPath();
+    }
+
+    private static void run(String... command) throws IOException, InterruptedException {
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(ProcessBuilder.Redirect.DISCARD).start();
+        if (process.waitFor() != 0)
+            throw new IOException(String.format("%s exited with %d", command[0], process.exitValue()));
+    }
+}
@@ -0,0 +1,146 @@
+package dev.JustRed23.Harness;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Generates synthetic app fleets of increasing size, runs each one end to end in a forked JVM
+ * through {@link FleetRun} and writes one CSV row per fleet.
+ *
+ * <pre>
+ * --apps 10,100,1000        fleet sizes (app count)
+ * --classes 50              classes per app, comma separated to sweep
+ * --class-size 2048         approximate bytes per class file
+ * --resources 2             resources per app
+ * --resource-size 4096      bytes per resource
+ * --sign                    sign every jar with a throwaway key
+ * --binary-descriptors      ship a precompiled app.bin next to app.yml
+ * --name-collisions 0.0     fraction of apps reusing an earlier app name
+ * --class-collisions 0.0    fraction of classes in the shared gen.shared package
+ * --lookup-millis 2000      time spent measuring each lookup rate
+ * --jvm-args "-Xmx2g"       arguments for the forked JVMs
+ * --work build/harness      directory for generated fleets
+ * --out build/harness/fleet.csv
+ * --keep                    keep generated fleets
+ * --seed 1
+ * </pre>
+ */
+public final class FleetHarness {
+
+    private FleetHarness() {}
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+
+        List<Integer> appCounts = ints(options.getOrDefault("apps", "10,100,1000"));
+        List<Integer> classCounts = ints(options.getOrDefault("classes", "50"));
+        int classSize = Integer.parseInt(options.getOrDefault("class-size", "2048"));
+        int resources = Integer.parseInt(options.getOrDefault("resources", "2"));
+        int resourceSize = Integer.parseInt(options.getOrDefault("resource-size", "4096"));
+        boolean signed = options.containsKey("sign");
+        boolean binaryDescriptors = options.containsKey("binary-descriptors");
+        double nameCollisions = Double.parseDouble(options.getOrDefault("name-collisions", "0"));
+        double classCollisions = Double.parseDouble(options.getOrDefault("class-collisions", "0"));
+        long lookupMillis = Long.parseLong(options.getOrDefault("lookup-millis", "2000"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "1"));
+        String jvmArgs = options.getOrDefault("jvm-args", "");
+        File work = new File(options.getOrDefault("work", "build/harness"));
+        File out = new File(options.getOrDefault("out", new File(work, "fleet.csv").getPath()));
+        boolean keep = options.containsKey("keep");
+
+        if (out.getParentFile() != null && !out.getParentFile().isDirectory() && !out.getParentFile().mkdirs())
+            throw new IOException("Cannot create " + out.getParentFile());
+
+        try (PrintWriter csv = new PrintWriter(new OutputStreamWriter(new FileOutputStream(out), StandardCharsets.UTF_8))) {
+            String header = "apps,classes_per_app,class_size,resources_per_app,signed,binary_descriptors,name_collisions,class_collisions,fleet_bytes," + FleetRun.COLUMNS;
+            csv.println(header);
+            System.out.println(header);
+
+            for (int classes : classCounts) {
+                for (int apps : appCounts) {
+                    FleetSpec spec = new FleetSpec(apps, classes, classSize, resources, resourceSize, signed, binaryDescriptors, nameCollisions, classCollisions, seed);
+                    File directory = new File(work, spec.getId());
+
+                    delete(directory);
+                    List<File> jars = new FleetGenerator(spec, directory).generate();
+                    long fleetBytes = jars.stream().mapToLong(File::length).sum();
+
+                    String row = String.format(Locale.ROOT, "%d,%d,%d,%d,%b,%b,%s,%s,%d,%s",
+                            apps, classes, classSize, resources, signed, binaryDescriptors, nameCollisions, classCollisions, fleetBytes, fork(directory, lookupMillis, jvmArgs));
+                    csv.println(row);
+                    csv.flush();
+                    System.out.println(row);
+
+                    if (!keep)
+                        delete(directory);
+                }
+            }
+        }
+    }
+
+    @NotNull
+    private static String fork(@NotNull File directory, long lookupMillis, @NotNull String jvmArgs) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(new File(new File(System.getProperty("java.home"), "bin"), "java").getPath());
+        for (String arg : jvmArgs.trim().split("\\s+"))
+            if (!arg.isEmpty())
+                command.add(arg);
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(FleetRun.class.getName());
+        command.add(directory.getPath());
+        command.add(Long.toString(lookupMillis));
+
+        Process process = new ProcessBuilder(command).redirectError(ProcessBuilder.Redirect.INHERIT).start();
+
+        String result = null;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null)
+                if (line.startsWith(FleetRun.RESULT_PREFIX))
+                    result = line.substring(FleetRun.RESULT_PREFIX.length());
+        }
+
+        if (process.waitFor() != 0 || result == null)
+            throw new IOException(String.format("Fleet run for %s failed with exit code %d", directory, process.exitValue()));
+
+        return result;
+    }
+
+    @NotNull
+    private static Map<String, String> parse(@NotNull String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--"))
+                throw new IllegalArgumentException("Unexpected argument " + args[i]);
+
+            String key = args[i].substring(2);
+            if (i + 1 < args.length && !args[i + 1].startsWith("--"))
+                options.put(key, args[++i]);
+            else
+                options.put(key, "");
+        }
+        return options;
+    }
+
+    @NotNull
+    private static List<Integer> ints(@NotNull String value) {
+        return Arrays.stream(value.split(",")).map(String::trim).map(Integer::parseInt).collect(Collectors.toList());
+    }
+
+    private static void delete(@NotNull File directory) throws IOException {
+        if (!directory.exists())
+            return;
+
+        try (Stream<File> files = Files.walk(directory.toPath()).sorted(Comparator.reverseOrder()).map(Path::toFile)) {
+            files.forEach(File::delete);
+        }
+    }
+}
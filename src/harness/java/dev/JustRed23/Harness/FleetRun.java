@@ -0,0 +1,124 @@
+package dev.JustRed23.Harness;
+
+import dev.JustRed23.App.App;
+import dev.JustRed23.App.AppLoader;
+import dev.JustRed23.App.AppManager;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+/**
+ * Runs a generated fleet in a fresh JVM and prints a single {@code RESULT} line for {@link FleetHarness}.
+ */
+public final class FleetRun {
+
+    static final String RESULT_PREFIX = "RESULT,";
+    static final String COLUMNS = "apps_loaded,defined_classes,startup_ms,heap_peak_bytes,metaspace_bytes,define_classes_per_s,lookup_ops_per_s,miss_ops_per_s";
+
+    private static final MethodHandle GET_CLASS_BY_NAME;
+
+    static {
+        try {
+            Method method = AppLoader.class.getDeclaredMethod("getClassByName", String.class);
+            method.setAccessible(true);
+            GET_CLASS_BY_NAME = MethodHandles.lookup().unreflect(method);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private FleetRun() {}
+
+    public static void main(String[] args) throws Throwable {
+        File directory = new File(args[0]);
+        long lookupMillis = Long.parseLong(args[1]);
+
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans())
+            pool.resetPeakUsage();
+
+        long start = System.nanoTime();
+        AppManager manager = new AppManager();
+        App[] apps = manager.loadApps(directory);
+        for (App app : apps) {
+            manager.initializeApp(app);
+            manager.enableApp(app);
+        }
+        long startupNanos = System.nanoTime() - start;
+
+        Map<String, App> owners = new LinkedHashMap<>();
+        for (App app : apps)
+            for (String className : classNames(app.getJarFile()))
+                owners.putIfAbsent(className, app);
+
+        start = System.nanoTime();
+        for (Map.Entry<String, App> entry : owners.entrySet())
+            Class.forName(entry.getKey(), false, entry.getValue().getClass().getClassLoader());
+        long defineNanos = System.nanoTime() - start;
+
+        AppLoader loader = apps.length > 0 ? apps[0].getLoader() : new AppLoader();
+        List<String> names = new ArrayList<>(owners.keySet());
+        double lookupRate = names.isEmpty() ? 0 : lookupRate(loader, names, lookupMillis);
+        double missRate = lookupRate(loader, Collections.singletonList("gen.missing.Nothing"), lookupMillis);
+
+        long heapPeak = 0;
+        long metaspace = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP && pool.getPeakUsage() != null)
+                heapPeak += pool.getPeakUsage().getUsed();
+            if ("Metaspace".equals(pool.getName()))
+                metaspace = pool.getUsage().getUsed();
+        }
+
+        manager.disableApps();
+
+        System.out.println(RESULT_PREFIX + String.format(Locale.ROOT, "%d,%d,%.3f,%d,%d,%.1f,%.1f,%.1f",
+                apps.length,
+                owners.size(),
+                startupNanos / 1e6,
+                heapPeak,
+                metaspace,
+                owners.isEmpty() ? 0 : owners.size() / (defineNanos / 1e9),
+                lookupRate,
+                missRate));
+    }
+
+    private static double lookupRate(@NotNull AppLoader loader, @NotNull List<String> names, long millis) throws Throwable {
+        Random random = new Random(names.size());
+        long deadline = System.nanoTime() + millis * 1_000_000L;
+        long start = System.nanoTime();
+        long operations = 0;
+
+        do {
+            for (int i = 0; i < 16; i++) {
+                Object ignored = GET_CLASS_BY_NAME.invoke(loader, names.get(random.nextInt(names.size())));
+                operations++;
+            }
+        } while (System.nanoTime() < deadline);
+
+        return operations / ((System.nanoTime() - start) / 1e9);
+    }
+
+    @NotNull
+    private static List<String> classNames(@NotNull File file) throws IOException {
+        List<String> names = new ArrayList<>();
+        try (JarFile jar = new JarFile(file)) {
+            Enumeration<JarEntry> entries = jar.entries();
+            while (entries.hasMoreElements()) {
+                String name = entries.nextElement().getName();
+                if (name.endsWith(".class"))
+                    names.add(name.substring(0, name.length() - 6).replace('/', '.'));
+            }
+        }
+        return names;
+    }
+}
@@ -0,0 +1,35 @@
+package dev.JustRed23.Harness;
+
+import org.jetbrains.annotations.NotNull;
+
+final class FleetSpec {
+
+    final int apps;
+    final int classesPerApp;
+    final int classSize;
+    final int resourcesPerApp;
+    final int resourceSize;
+    final boolean signed;
+    final boolean binaryDescriptors;
+    final double nameCollisions;
+    final double classCollisions;
+    final long seed;
+
+    FleetSpec(int apps, int classesPerApp, int classSize, int resourcesPerApp, int resourceSize, boolean signed, boolean binaryDescriptors, double nameCollisions, double classCollisions, long seed) {
+        this.apps = apps;
+        this.classesPerApp = classesPerApp;
+        this.classSize = classSize;
+        this.resourcesPerApp = resourcesPerApp;
+        this.resourceSize = resourceSize;
+        this.signed = signed;
+        this.binaryDescriptors = binaryDescriptors;
+        this.nameCollisions = nameCollisions;
+        this.classCollisions = classCollisions;
+        this.seed = seed;
+    }
+
+    @NotNull
+    String getId() {
+        return String.format("a%d-c%d-s%d-r%d%s%s", apps, classesPerApp, classSize, resourcesPerApp, signed ? "-signed" : "", binaryDescriptors ? "-bin" : "");
+    }
+}
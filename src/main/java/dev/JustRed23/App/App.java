@@ -1,6 +1,11 @@
 package dev.JustRed23.App;
 
 import com.google.common.base.Charsets;
+import dev.JustRed23.Channel.Channel;
+import dev.JustRed23.Channel.ChannelRegistry;
+import dev.JustRed23.Channel.ProducerMode;
+import dev.JustRed23.Channel.WaitStrategy;
+import dev.JustRed23.Monitoring.AppLifecycleEvent;
 import org.apache.commons.lang3.Validate;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -10,16 +15,21 @@ import org.slf4j.LoggerFactory;
 import java.io.*;
 import java.net.URL;
 import java.net.URLConnection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 public class App {
 
-    private boolean enabled;
+    private volatile boolean enabled;
+    private final Object lifecycleLock = new Object();
     private AppLoader loader;
     private File jarFile;
     private AppDescription description;
     private File dataFolder;
     private ClassLoader classLoader;
     private Logger logger;
+    private final AppResourceUsage resourceUsage = new AppResourceUsage();
+    private final List<Channel> channels = new CopyOnWriteArrayList<>();
 
     public App() {
         final ClassLoader classLoader = this.getClass().getClassLoader();
@@ -88,14 +98,52 @@ public class App {
         return classLoader;
     }
 
+    /**
+     * Enabling and disabling are serialized per app, so a disable requested by another thread (such as the resource
+     * monitor) waits until a running {@link #onEnable()} has returned.
+     */
     protected final void setEnabled(final boolean enabled) {
-        if (this.enabled != enabled) {
-            this.enabled = enabled;
+        synchronized (lifecycleLock) {
+            if (this.enabled != enabled) {
+                this.enabled = enabled;
+
+                if (enabled)
+                    invokeCallback("onEnable", this::onEnable);
+                else {
+                    try {
+                        invokeCallback("onDisable", this::onDisable);
+                    } finally {
+                        closeChannels();
+                    }
+                }
+            }
+        }
+    }
+
+    final void load() {
+        invokeCallback("onLoad", this::onLoad);
+    }
+
+    private void invokeCallback(@NotNull String callback, @NotNull Runnable body) {
+        AppLifecycleEvent event = new AppLifecycleEvent(description.getAppName(), callback);
+        event.begin();
+
+        final Thread thread = Thread.currentThread();
+        final long threadId = thread.getId();
+        final ClassLoader contextLoader = thread.getContextClassLoader();
+        final boolean tracked = resourceUsage.beginCallback(threadId);
 
-            if (enabled)
-                onEnable();
-            else
-                onDisable();
+        thread.setContextClassLoader(classLoader);
+        try {
+            body.run();
+            event.success = true;
+        } finally {
+            thread.setContextClassLoader(contextLoader);
+
+            if (tracked)
+                resourceUsage.endCallback(threadId);
+
+            event.commit();
         }
     }
 
@@ -114,6 +162,35 @@ public class App {
 
     public void onEnable() {}
 
+    @NotNull
+    public Channel openChannel(@NotNull String name) {
+        return openChannel(name, ChannelRegistry.DEFAULT_CAPACITY, ProducerMode.MULTI, WaitStrategy.blocking());
+    }
+
+    @NotNull
+    public Channel openChannel(@NotNull String name, int capacity, @NotNull ProducerMode mode, @NotNull WaitStrategy waitStrategy) {
+        channels.removeIf(Channel::isClosed);
+
+        Channel channel = loader.getChannelRegistry().open(name, capacity, mode, waitStrategy);
+        channels.add(channel);
+        return channel;
+    }
+
+    /**
+     * Closes every channel handle the app opened. Called when it is disabled, and when its class loader is closed so
+     * channels opened by an app that never got enabled are released too.
+     */
+    void closeChannels() {
+        for (Channel channel : channels)
+            channel.close();
+        channels.clear();
+    }
+
+    @NotNull
+    public AppResourceUsage getResourceUsage() {
+        return resourceUsage;
+    }
+
     @NotNull
     public Logger getLogger() {
         return logger;
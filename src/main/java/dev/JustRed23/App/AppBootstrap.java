@@ -0,0 +1,328 @@
+package dev.JustRed23.App;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import dev.JustRed23.Exceptions.InvalidAppException;
+import dev.JustRed23.Monitoring.AppScanEvent;
+import dev.JustRed23.Phone.Phone;
+import org.apache.commons.lang3.Validate;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Loads, initializes and enables the apps of an {@link AppManager} in the background, critical apps first and then by
+ * descending priority, while tracking the readiness of every app and of the whole manager.
+ */
+public class AppBootstrap {
+
+    public enum State {
+        PENDING,
+        LOADING,
+        LOADED,
+        ENABLED,
+        FAILED
+    }
+
+    public enum Readiness {
+        STARTING,
+        READY,
+        DEGRADED,
+        FAILED
+    }
+
+    private static final long STOP_TIMEOUT_SECONDS = 30;
+
+    private final AppManager manager;
+    private final int threads;
+
+    private final Map<String, State> states = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<App>> futures = new ConcurrentHashMap<>();
+    private final List<String> order = new CopyOnWriteArrayList<>();
+    private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+
+    private final CompletableFuture<Void> ready = new CompletableFuture<>();
+    private final CompletableFuture<Void> criticalReady = new CompletableFuture<>();
+    private final AtomicInteger remaining = new AtomicInteger();
+    private final AtomicInteger remainingCritical = new AtomicInteger();
+
+    private volatile Readiness readiness = Readiness.STARTING;
+    private volatile boolean criticalFailed;
+    private volatile boolean anyFailed;
+    private volatile boolean scanned;
+    private volatile boolean stopped;
+
+    private ThreadPoolExecutor executor;
+
+    public AppBootstrap(@NotNull AppManager manager, int threads) {
+        Validate.notNull(manager, "Manager cannot be null");
+        Validate.isTrue(threads > 0, "Threads must be positive");
+
+        this.manager = manager;
+        this.threads = threads;
+    }
+
+    public synchronized void start() {
+        File directory = manager.getConfig().getAppFolder();
+        Validate.validState(directory != null, "No app folder configured for %s", manager.getConfig().getName());
+
+        if (executor != null)
+            throw new IllegalStateException("Bootstrap already started");
+
+        executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, new PriorityBlockingQueue<>(),
+                new ThreadFactoryBuilder().setNameFormat("AppBootstrap-" + manager.getConfig().getName() + "-%d").build());
+        executor.execute(new Task(-1, () -> {
+            try {
+                scan(directory);
+            } catch (Throwable e) {
+                Phone.getLogger().error("Could not bootstrap the apps in " + directory, e);
+                abort(e);
+            }
+        }));
+    }
+
+    /**
+     * Stops bootstrapping and waits for the apps that are being loaded or enabled, so the manager can be closed
+     * safely afterwards. Apps that were not started yet are failed.
+     */
+    public synchronized void stop() {
+        stopped = true;
+        if (executor == null)
+            return;
+
+        List<Runnable> abandoned = executor.shutdownNow();
+        if (!abandoned.isEmpty())
+            abort(new CancellationException("Bootstrap of " + manager.getConfig().getName() + " was stopped"));
+
+        try {
+            if (!executor.awaitTermination(STOP_TIMEOUT_SECONDS, TimeUnit.SECONDS))
+                Phone.getLogger().warn("Bootstrap of " + manager.getConfig().getName() + " did not stop within " + STOP_TIMEOUT_SECONDS + " seconds");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public void addListener(@NotNull Runnable listener) {
+        Validate.notNull(listener, "Listener cannot be null");
+        listeners.add(listener);
+    }
+
+    @NotNull
+    public Readiness getReadiness() {
+        return readiness;
+    }
+
+    @Nullable
+    public State getState(@NotNull String appName) {
+        return states.get(appName);
+    }
+
+    /**
+     * @return the state of every app found so far, in load order
+     */
+    @NotNull
+    public Map<String, State> getStates() {
+        Map<String, State> result = new LinkedHashMap<>();
+        for (String name : order)
+            result.put(name, states.get(name));
+        return result;
+    }
+
+    /**
+     * @return a future completed with the app once it is enabled, or exceptionally if it fails or does not exist
+     */
+    @NotNull
+    public CompletableFuture<App> getFuture(@NotNull String appName) {
+        Validate.notNull(appName, "App name cannot be null");
+
+        if (scanned && !states.containsKey(appName))
+            return CompletableFuture.failedFuture(noSuchApp(appName));
+
+        CompletableFuture<App> future = futures.computeIfAbsent(appName, name -> new CompletableFuture<>());
+        // The scan may have finished its sweep between the check above and the insert
+        if (scanned && !states.containsKey(appName))
+            future.completeExceptionally(noSuchApp(appName));
+        return future;
+    }
+
+    /**
+     * @return a future completed once every app has been enabled or has failed, or exceptionally if the app folder
+     * could not be scanned
+     */
+    @NotNull
+    public CompletableFuture<Void> getReadyFuture() {
+        return ready;
+    }
+
+    /**
+     * @return a future completed once every critical app is enabled, or exceptionally as soon as one fails
+     */
+    @NotNull
+    public CompletableFuture<Void> getCriticalFuture() {
+        return criticalReady;
+    }
+
+    private void scan(File directory) {
+        Map<File, AppDescription> apps;
+
+        if (directory.isDirectory()) {
+            AppScanEvent event = new AppScanEvent(directory.getPath());
+            event.begin();
+            apps = manager.scanApps(directory, event);
+            event.commit();
+        } else {
+            Phone.getLogger().warn("Directory " + directory + " does not exist");
+            apps = Collections.emptyMap();
+        }
+
+        remaining.set(apps.size());
+        for (AppDescription description : apps.values()) {
+            states.put(description.getAppName(), State.PENDING);
+            order.add(description.getAppName());
+            getFuture(description.getAppName());
+            if (description.isCritical())
+                remainingCritical.incrementAndGet();
+        }
+
+        scanned = true;
+        futures.forEach((name, future) -> {
+            if (!states.containsKey(name))
+                future.completeExceptionally(noSuchApp(name));
+        });
+
+        if (remainingCritical.get() == 0)
+            criticalReady.complete(null);
+        if (apps.isEmpty())
+            settle();
+        notifyListeners();
+
+        int index = 0;
+        for (Map.Entry<File, AppDescription> entry : apps.entrySet())
+            executor.execute(new Task(index++, () -> bootstrap(entry.getKey(), entry.getValue())));
+    }
+
+    /**
+     * Fails everything that is still waiting when the scan fails or the bootstrap is stopped early, so nobody waits on a
+     * bootstrap that will never finish.
+     */
+    private void abort(Throwable cause) {
+        anyFailed = true;
+        criticalFailed = true;
+        readiness = Readiness.FAILED;
+        scanned = true;
+
+        futures.forEach((name, future) -> {
+            State state = states.get(name);
+            if (state == null || state == State.PENDING) {
+                if (state != null)
+                    states.put(name, State.FAILED);
+                future.completeExceptionally(cause);
+            }
+        });
+
+        criticalReady.completeExceptionally(cause);
+        ready.completeExceptionally(cause);
+        notifyListeners();
+    }
+
+    private NoSuchElementException noSuchApp(String name) {
+        return new NoSuchElementException("No app named " + name + " in " + manager.getConfig().getAppFolder());
+    }
+
+    private void bootstrap(File file, AppDescription description) {
+        String name = description.getAppName();
+        App app = null;
+
+        try {
+            checkStopped();
+            setState(name, State.LOADING);
+            app = manager.loadApp(file);
+            if (app == null)
+                throw new InvalidAppException("No app loader accepted " + file);
+
+            if (!manager.initializeApp(app))
+                throw new InvalidAppException("An error occurred while initializing " + description.getFullName());
+            setState(name, State.LOADED);
+
+            checkStopped();
+            if (!manager.enableApp(app))
+                throw new InvalidAppException("An error occurred while enabling " + description.getFullName());
+            setState(name, State.ENABLED);
+
+            getFuture(name).complete(app);
+            if (description.isCritical() && remainingCritical.decrementAndGet() == 0)
+                criticalReady.complete(null);
+        } catch (Throwable e) {
+            Phone.getLogger().error("Could not bootstrap '" + file.getPath() + "'", e);
+            if (app != null) {
+                manager.disableApp(app);
+                app.closeChannels();
+            }
+            fail(description, e);
+        } finally {
+            if (remaining.decrementAndGet() == 0)
+                settle();
+        }
+    }
+
+    private void checkStopped() {
+        if (stopped)
+            throw new CancellationException("Bootstrap of " + manager.getConfig().getName() + " was stopped");
+    }
+
+    private void fail(AppDescription description, Throwable cause) {
+        anyFailed = true;
+        setState(description.getAppName(), State.FAILED);
+        getFuture(description.getAppName()).completeExceptionally(cause);
+
+        if (description.isCritical()) {
+            criticalFailed = true;
+            criticalReady.completeExceptionally(new InvalidAppException("Critical app " + description.getFullName() + " failed", cause));
+        }
+        notifyListeners();
+    }
+
+    private void settle() {
+        readiness = criticalFailed ? Readiness.FAILED : anyFailed ? Readiness.DEGRADED : Readiness.READY;
+        Phone.getLogger().info(String.format("Bootstrap of %s finished: %s", manager.getConfig().getName(), readiness));
+        ready.complete(null);
+        notifyListeners();
+    }
+
+    private void setState(String name, State state) {
+        states.put(name, state);
+        notifyListeners();
+    }
+
+    private void notifyListeners() {
+        for (Runnable listener : listeners) {
+            try {
+                listener.run();
+            } catch (Throwable e) {
+                Phone.getLogger().error("An error occurred in a bootstrap listener", e);
+            }
+        }
+    }
+
+    private static final class Task implements Runnable, Comparable<Task> {
+
+        private final int order;
+        private final Runnable body;
+
+        private Task(int order, Runnable body) {
+            this.order = order;
+            this.body = body;
+        }
+
+        public void run() {
+            body.run();
+        }
+
+        public int compareTo(@NotNull Task other) {
+            return Integer.compare(order, other.order);
+        }
+    }
+}
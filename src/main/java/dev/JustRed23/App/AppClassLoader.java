@@ -2,6 +2,9 @@ package dev.JustRed23.App;
 
 import com.google.common.io.ByteStreams;
 import dev.JustRed23.Exceptions.InvalidAppException;
+import dev.JustRed23.Monitoring.AppChecksEvent;
+import dev.JustRed23.Monitoring.AppClassLoaderEvent;
+import dev.JustRed23.Monitoring.ClassDefineEvent;
 import dev.JustRed23.Phone.Phone;
 import org.apache.commons.lang3.Validate;
 import org.jetbrains.annotations.NotNull;
@@ -13,12 +16,14 @@ import java.io.InputStream;
 import java.lang.reflect.InvocationTargetException;
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.nio.ByteBuffer;
 import java.security.CodeSigner;
 import java.security.CodeSource;
 import java.util.Enumeration;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 import java.util.jar.Manifest;
@@ -27,6 +32,7 @@ public class AppClassLoader extends URLClassLoader {
 
     private final AppLoader loader;
     private final Map<String, Class<?>> classes = new ConcurrentHashMap<>();
+    private final AtomicInteger definedClasses = new AtomicInteger();
     private final AppDescription description;
     private final File dataFolder;
 
@@ -34,30 +40,54 @@ public class AppClassLoader extends URLClassLoader {
     private final JarFile jar;
     private final Manifest manifest;
     private final URL url;
+    private final SharedJarCache jarCache;
+    private final SharedJarCache.CachedJar cachedJar;
 
     final App app;
     private boolean isInitialized;
+    private boolean closed;
 
     static {
         AppClassLoader.registerAsParallelCapable();
     }
 
-    AppClassLoader(@NotNull final AppLoader loader, @Nullable final ClassLoader parent, @Nullable final AppDescription description, @NotNull final File dataFolder, @NotNull final File jarFile) throws IOException, InvalidAppException {
+    AppClassLoader(@NotNull final AppLoader loader, @Nullable final ClassLoader parent, @Nullable final AppDescription description, @NotNull final File dataFolder, @NotNull final File jarFile, @Nullable final SharedJarCache jarCache) throws IOException, InvalidAppException {
         super(new URL[] {jarFile.toURI().toURL()}, parent);
 
-        this.loader = loader;
-        this.description = description;
-        this.dataFolder = dataFolder;
+        AppClassLoaderEvent event = new AppClassLoaderEvent(description.getAppName(), jarFile.getPath());
+        event.begin();
 
-        this.jarFile = jarFile;
-        this.jar = new JarFile(jarFile);
-        this.manifest = jar.getManifest();
-        this.url = jarFile.toURI().toURL();
+        try {
+            this.loader = loader;
+            this.description = description;
+            this.dataFolder = dataFolder;
+
+            this.jarFile = jarFile;
+            this.jar = new JarFile(jarFile);
+            this.manifest = jar.getManifest();
+            this.url = jarFile.toURI().toURL();
+
+            this.jarCache = jarCache;
+            this.cachedJar = jarCache != null ? jarCache.acquire(jarFile) : null;
 
-        this.app = performChecks();
+            this.app = performChecks();
+            event.success = true;
+        } catch (Throwable e) {
+            try {
+                close();
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e;
+        } finally {
+            event.commit();
+        }
     }
 
     private App performChecks() throws InvalidAppException {
+        AppChecksEvent event = new AppChecksEvent(description.getAppName(), description.getMainClass());
+        event.begin();
+
         try {
             Class<?> jarClass;
             try {
@@ -73,13 +103,17 @@ public class AppClassLoader extends URLClassLoader {
                 throw new InvalidAppException(String.format("Main class %s does not extend %s", description.getMainClass(), App.class.getCanonicalName()), e);
             }
 
-            return appClass.getDeclaredConstructor().newInstance();
+            App app = appClass.getDeclaredConstructor().newInstance();
+            event.success = true;
+            return app;
         } catch (IllegalAccessException e) {
             throw new InvalidAppException("Constructor is not public", e);
         } catch (InstantiationException e) {
             throw new InvalidAppException("Abnormal app type", e);
         } catch (NoSuchMethodException | InvocationTargetException e) {
             throw new InvalidAppException(e);
+        } finally {
+            event.commit();
         }
     }
 
@@ -106,12 +140,27 @@ public class AppClassLoader extends URLClassLoader {
             JarEntry entry = jar.getJarEntry(path);
 
             if (entry != null) {
-                byte[] classBytes;
-
-                try (InputStream is = jar.getInputStream(entry)) {
-                    classBytes = ByteStreams.toByteArray(is);
-                } catch (IOException e) {
-                    throw new ClassNotFoundException(name, e);
+                ClassDefineEvent event = new ClassDefineEvent(description.getAppName(), name);
+                event.begin();
+
+                ByteBuffer classBytes;
+                CodeSigner[] signers;
+
+                if (cachedJar != null) {
+                    try {
+                        SharedJarCache.Entry cached = cachedJar.getEntry(jar, entry);
+                        classBytes = cached.getData();
+                        signers = cached.getSigners();
+                    } catch (IOException e) {
+                        throw new ClassNotFoundException(name, e);
+                    }
+                } else {
+                    try (InputStream is = jar.getInputStream(entry)) {
+                        classBytes = ByteBuffer.wrap(ByteStreams.toByteArray(is));
+                    } catch (IOException e) {
+                        throw new ClassNotFoundException(name, e);
+                    }
+                    signers = entry.getCodeSigners();
                 }
 
                 int dot = name.lastIndexOf('.');
@@ -130,10 +179,13 @@ public class AppClassLoader extends URLClassLoader {
                     }
                 }
 
-                CodeSigner[] signers = entry.getCodeSigners();
                 CodeSource source = new CodeSource(url, signers);
 
-                result = defineClass(name, classBytes, 0, classBytes.length, source);
+                event.bytes = classBytes.remaining();
+                result = defineClass(name, classBytes, source);
+                definedClasses.incrementAndGet();
+
+                event.commit();
             }
 
             if (result == null)
@@ -149,6 +201,28 @@ public class AppClassLoader extends URLClassLoader {
         return classes.keySet();
     }
 
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed)
+            return;
+        closed = true;
+
+        try {
+            if (app != null)
+                app.closeChannels();
+            super.close();
+        } finally {
+            if (jar != null)
+                jar.close();
+            if (cachedJar != null)
+                jarCache.release(cachedJar);
+        }
+    }
+
+    int getDefinedClassCount() {
+        return definedClasses.get();
+    }
+
     synchronized void init(@NotNull App app) {
         Validate.notNull(app, "App cannot be null");
         Validate.isTrue(app.getClass().getClassLoader() == this, "Cannot init app outside loader");
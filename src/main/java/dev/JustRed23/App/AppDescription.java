@@ -4,16 +4,16 @@ import com.google.common.collect.ImmutableList;
 import dev.JustRed23.Exceptions.InvalidDescriptionException;
 import dev.JustRed23.Phone.Phone;
 import org.jetbrains.annotations.NotNull;
-import org.yaml.snakeyaml.Yaml;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.List;
-import java.util.Map;
 import java.util.regex.Pattern;
 
 public class AppDescription {
 
-    private final Pattern VALID_NAME = Pattern.compile("^[A-Za-z0-9 _.-]+$");
+    private static final Pattern VALID_NAME = Pattern.compile("^[A-Za-z0-9 _.-]+$");
 
     private String appName = null;
     private String appVersion = null;
@@ -23,56 +23,48 @@ public class AppDescription {
 
     private String mainClass = null;
 
-    private static final Yaml YAML = new Yaml();
+    private int priority = 0;
+    private boolean critical = false;
 
     public AppDescription(InputStream stream) throws InvalidDescriptionException {
-        loadMap(asMap(YAML.load(stream)));
+        AppDescriptionParser.parseYaml(stream, this);
     }
 
-    private void loadMap(Map<?, ?> map) throws InvalidDescriptionException {
-        String name = getObjectFromMap(map, "name");
-        if (!VALID_NAME.matcher(name).matches())
+    private AppDescription() {}
+
+    @NotNull
+    public static AppDescription fromBinary(@NotNull InputStream stream) throws InvalidDescriptionException {
+        AppDescription description = new AppDescription();
+        AppDescriptionParser.parseBinary(stream, description);
+        return description;
+    }
+
+    public void writeBinary(@NotNull OutputStream stream) throws IOException {
+        AppDescriptionParser.writeBinary(this, stream);
+    }
+
+    void load(String name, String version, String author, List<String> contributors, String main, int priority, boolean critical) throws InvalidDescriptionException {
+        if (!VALID_NAME.matcher(require(name, "name")).matches())
             throw new InvalidDescriptionException("Name '" + name + "' contains invalid characters");
         appName = name;
 
-        appVersion = getObjectFromMap(map, "version");
-        appAuthor = getObjectFromMap(map, "author");
-
-        if (map.get("contributors") != null) {
-            ImmutableList.Builder<String> contributorsBuilder = ImmutableList.builder();
-            try {
-                for (Object o : (Iterable<?>) map.get("contributors"))
-                    contributorsBuilder.add(o.toString());
-            } catch (ClassCastException ex) {
-                throw new InvalidDescriptionException(ex, "Contributors are of wrong type");
-            }
-            appContributors = contributorsBuilder.build();
-        } else {
-            appContributors = ImmutableList.of();
-        }
-
-        String main = getObjectFromMap(map, "mainClass");
-        if (main.startsWith(Phone.protectedPackage))
+        appVersion = require(version, "version");
+        appAuthor = require(author, "author");
+        appContributors = contributors != null ? ImmutableList.copyOf(contributors) : ImmutableList.of();
+
+        if (require(main, "mainClass").startsWith(Phone.protectedPackage))
             throw new InvalidDescriptionException("The main class may not be within the dev.JustRed23 namespace");
         mainClass = main;
-    }
 
-    @NotNull
-    private Map<?, ?> asMap(@NotNull Object object) throws InvalidDescriptionException {
-        if (object instanceof Map)
-            return (Map<?, ?>) object;
-
-        throw new InvalidDescriptionException(object + " is not properly structured.");
+        this.priority = priority;
+        this.critical = critical;
     }
 
-    private String getObjectFromMap(Map<?, ?> map, String objectName) throws InvalidDescriptionException {
-        try {
-            return map.get(objectName).toString();
-        } catch (NullPointerException ex) {
-            throw new InvalidDescriptionException(ex, objectName + " is not defined");
-        } catch (ClassCastException ex) {
-            throw new InvalidDescriptionException(ex, objectName + " is of wrong type");
-        }
+    @NotNull
+    private static String require(String value, String objectName) throws InvalidDescriptionException {
+        if (value == null)
+            throw new InvalidDescriptionException(objectName + " is not defined");
+        return value;
     }
 
     public String getAppName() {
@@ -98,4 +90,15 @@ public class AppDescription {
     public String getMainClass() {
         return mainClass;
     }
+
+    /**
+     * Apps with a higher priority are loaded first, critical apps before all others.
+     */
+    public int getPriority() {
+        return priority;
+    }
+
+    public boolean isCritical() {
+        return critical;
+    }
 }
@@ -0,0 +1,34 @@
+package dev.JustRed23.App;
+
+import dev.JustRed23.Exceptions.InvalidDescriptionException;
+
+import java.io.*;
+
+/**
+ * Compiles an {@code app.yml} into the binary {@code app.bin} that {@link AppLoader} prefers when both are present.
+ * Usage: {@code AppDescriptionCompiler <app.yml> <app.bin>}
+ */
+public final class AppDescriptionCompiler {
+
+    private AppDescriptionCompiler() {}
+
+    public static void main(String[] args) throws IOException, InvalidDescriptionException {
+        if (args.length != 2) {
+            System.err.println("Usage: AppDescriptionCompiler <app.yml> <app.bin>");
+            System.exit(1);
+        }
+
+        compile(new File(args[0]), new File(args[1]));
+    }
+
+    public static void compile(File source, File target) throws IOException, InvalidDescriptionException {
+        AppDescription description;
+        try (InputStream in = new BufferedInputStream(new FileInputStream(source))) {
+            description = new AppDescription(in);
+        }
+
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(target))) {
+            description.writeBinary(out);
+        }
+    }
+}
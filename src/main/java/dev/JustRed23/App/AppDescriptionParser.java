@@ -0,0 +1,353 @@
+package dev.JustRed23.App;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import dev.JustRed23.Exceptions.InvalidDescriptionException;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.error.Mark;
+import org.yaml.snakeyaml.error.MarkedYAMLException;
+import org.yaml.snakeyaml.error.YAMLException;
+import org.yaml.snakeyaml.events.*;
+import org.yaml.snakeyaml.reader.UnicodeReader;
+
+import java.io.*;
+import java.util.*;
+import java.util.regex.Pattern;
+
+final class AppDescriptionParser {
+
+    static final int BINARY_MAGIC = 0x50484150;
+    static final int BINARY_VERSION = 2;
+
+    private static final Pattern NULL = Pattern.compile("^(?:~|null|Null|NULL|)$");
+    private static final Pattern TRUE = Pattern.compile("^(?:y|Y|yes|Yes|YES|true|True|TRUE|on|On|ON)$");
+    private static final Pattern FALSE = Pattern.compile("^(?:n|N|no|No|NO|false|False|FALSE|off|Off|OFF)$");
+    private static final String MERGE_KEY = "<<";
+    private static final Yaml YAML = new Yaml();
+
+    private AppDescriptionParser() {}
+
+    static void parseYaml(@NotNull InputStream stream, @NotNull AppDescription target) throws InvalidDescriptionException {
+        Fields fields = new Fields();
+
+        try {
+            Iterator<Event> events = YAML.parse(new UnicodeReader(stream)).iterator();
+
+            expect(events, StreamStartEvent.class, "a stream");
+            Event event = next(events);
+            if (event instanceof StreamEndEvent)
+                throw new InvalidDescriptionException("app.yml is empty");
+            if (!(event instanceof DocumentStartEvent))
+                throw error(event, "Expected a document");
+
+            event = next(events);
+            if (!(event instanceof MappingStartEvent))
+                throw error(event, "app.yml is not properly structured, expected a mapping");
+
+            Map<String, Object> anchors = new HashMap<>();
+
+            while (!((event = next(events)) instanceof MappingEndEvent)) {
+                // Complex keys are ignored like any other unknown key
+                Object key = null;
+                if (event instanceof CollectionStartEvent)
+                    skip(events, event, anchors);
+                else
+                    key = read(events, event, anchors);
+                Event value = next(events);
+
+                if (MERGE_KEY.equals(key) && event instanceof ScalarEvent)
+                    fields.merge(value, read(events, value, anchors));
+                else if (Fields.KEYS.contains(key))
+                    fields.set((String) key, value, read(events, value, anchors), true);
+                else
+                    skip(events, value, anchors);
+            }
+
+            expect(events, DocumentEndEvent.class, "the end of the document");
+            event = next(events);
+            if (!(event instanceof StreamEndEvent))
+                throw error(event, "app.yml may only contain one document");
+        } catch (MarkedYAMLException e) {
+            Mark mark = e.getProblemMark();
+            throw new InvalidDescriptionException(e, mark == null ? "Malformed app.yml: " + e.getProblem() : String.format("Malformed app.yml: %s at line %d, column %d", e.getProblem(), mark.getLine() + 1, mark.getColumn() + 1));
+        } catch (YAMLException e) {
+            throw new InvalidDescriptionException(e, "Malformed app.yml");
+        }
+
+        target.load(fields.name, fields.version, fields.author, fields.contributors, fields.mainClass, fields.priority, fields.critical);
+    }
+
+    static void parseBinary(@NotNull InputStream stream, @NotNull AppDescription target) throws InvalidDescriptionException {
+        DataInputStream in = new DataInputStream(stream);
+
+        try {
+            if (in.readInt() != BINARY_MAGIC)
+                throw new InvalidDescriptionException("app.bin is not a binary app descriptor");
+
+            int version = in.readUnsignedByte();
+            if (version < 1 || version > BINARY_VERSION)
+                throw new InvalidDescriptionException("Unsupported app.bin version " + version);
+
+            String name = in.readUTF();
+            String appVersion = in.readUTF();
+            String author = in.readUTF();
+
+            int count = in.readUnsignedShort();
+            ImmutableList.Builder<String> contributors = ImmutableList.builderWithExpectedSize(count);
+            for (int i = 0; i < count; i++)
+                contributors.add(in.readUTF());
+
+            String mainClass = in.readUTF();
+
+            int priority = 0;
+            boolean critical = false;
+            if (version >= 2) {
+                priority = in.readInt();
+                critical = in.readBoolean();
+            }
+
+            target.load(name, appVersion, author, contributors.build(), mainClass, priority, critical);
+        } catch (EOFException e) {
+            throw new InvalidDescriptionException(e, "app.bin is truncated");
+        } catch (IOException e) {
+            throw new InvalidDescriptionException(e, "Invalid app.bin");
+        }
+    }
+
+    static void writeBinary(@NotNull AppDescription description, @NotNull OutputStream stream) throws IOException {
+        DataOutputStream out = new DataOutputStream(stream);
+
+        out.writeInt(BINARY_MAGIC);
+        out.writeByte(BINARY_VERSION);
+        out.writeUTF(description.getAppName());
+        out.writeUTF(description.getAppVersion());
+        out.writeUTF(description.getAppAuthor());
+
+        List<String> contributors = description.getAppContributors();
+        if (contributors.size() > 0xFFFF)
+            throw new IOException("Too many contributors");
+        out.writeShort(contributors.size());
+        for (String contributor : contributors)
+            out.writeUTF(contributor);
+
+        out.writeUTF(description.getMainClass());
+        out.writeInt(description.getPriority());
+        out.writeBoolean(description.isCritical());
+        out.flush();
+    }
+
+    /**
+     * Reads a complete node, so a malformed value is reported as a syntax error before its type is checked. Scalars
+     * become strings or {@code null}, sequences lists and mappings maps with only their scalar keys. Anchors are
+     * recorded so later aliases resolve to the same value.
+     */
+    @Nullable
+    private static Object read(@NotNull Iterator<Event> events, @NotNull Event event, @NotNull Map<String, Object> anchors) throws InvalidDescriptionException {
+        if (event instanceof AliasEvent) {
+            String anchor = ((AliasEvent) event).getAnchor();
+            if (!anchors.containsKey(anchor))
+                throw error(event, "Unknown alias " + anchor);
+            return anchors.get(anchor);
+        }
+
+        Object value;
+        if (event instanceof ScalarEvent) {
+            ScalarEvent scalar = (ScalarEvent) event;
+            value = scalar.getImplicit().canOmitTagInPlainScalar() && NULL.matcher(scalar.getValue()).matches() ? null : scalar.getValue();
+        } else if (event instanceof SequenceStartEvent) {
+            List<Object> list = new ArrayList<>();
+            Event item;
+            while (!((item = next(events)) instanceof SequenceEndEvent))
+                list.add(read(events, item, anchors));
+            value = list;
+        } else if (event instanceof MappingStartEvent) {
+            Map<String, Object> map = new LinkedHashMap<>();
+            List<Object> merges = new ArrayList<>();
+            Event keyEvent;
+            while (!((keyEvent = next(events)) instanceof MappingEndEvent)) {
+                Object key = read(events, keyEvent, anchors);
+                Object entry = read(events, next(events), anchors);
+                if (MERGE_KEY.equals(key) && keyEvent instanceof ScalarEvent)
+                    merges.add(entry);
+                else if (key instanceof String)
+                    map.put((String) key, entry);
+            }
+            for (Object merge : merges) {
+                List<Map<?, ?>> merged = merged(merge);
+                if (merged == null)
+                    throw error(event, "Only mappings can be merged");
+                for (Map<?, ?> mergedMap : merged)
+                    mergedMap.forEach((key, entry) -> map.putIfAbsent((String) key, entry));
+            }
+            value = map;
+        } else {
+            throw error(event, "Unexpected event");
+        }
+
+        String anchor = ((NodeEvent) event).getAnchor();
+        if (anchor != null)
+            anchors.put(anchor, value);
+        return value;
+    }
+
+    /**
+     * Consumes a node without building it. Only nodes with an anchor are read, since a later alias may refer to them.
+     */
+    private static void skip(@NotNull Iterator<Event> events, @NotNull Event event, @NotNull Map<String, Object> anchors) throws InvalidDescriptionException {
+        if (!(event instanceof AliasEvent) && ((NodeEvent) event).getAnchor() != null) {
+            read(events, event, anchors);
+        } else if (event instanceof CollectionStartEvent) {
+            Event child;
+            while (!((child = next(events)) instanceof CollectionEndEvent))
+                skip(events, child, anchors);
+        }
+    }
+
+    /**
+     * @return the mappings a merge key refers to, either one mapping or a sequence of them, or {@code null}
+     */
+    @Nullable
+    private static List<Map<?, ?>> merged(@Nullable Object value) {
+        if (value instanceof Map)
+            return Collections.singletonList((Map<?, ?>) value);
+        if (!(value instanceof List))
+            return null;
+
+        List<Map<?, ?>> maps = new ArrayList<>();
+        for (Object item : (List<?>) value) {
+            if (!(item instanceof Map))
+                return null;
+            maps.add((Map<?, ?>) item);
+        }
+        return maps;
+    }
+
+    @Nullable
+    private static String scalar(@NotNull Event event, @Nullable Object value, @NotNull String key) throws InvalidDescriptionException {
+        if (value != null && !(value instanceof String))
+            throw error(event, key + " is of wrong type");
+        return (String) value;
+    }
+
+    private static int integer(@NotNull Event event, @Nullable Object value, @NotNull String key) throws InvalidDescriptionException {
+        String string = scalar(event, value, key);
+        if (string == null)
+            return 0;
+
+        try {
+            return Integer.parseInt(string.trim());
+        } catch (NumberFormatException e) {
+            throw error(event, key + " is not a number");
+        }
+    }
+
+    private static boolean bool(@NotNull Event event, @Nullable Object value, @NotNull String key) throws InvalidDescriptionException {
+        String string = scalar(event, value, key);
+        if (string == null)
+            return false;
+
+        if (TRUE.matcher(string).matches())
+            return true;
+        if (FALSE.matcher(string).matches())
+            return false;
+        throw error(event, key + " is not a boolean");
+    }
+
+    @Nullable
+    private static List<String> sequence(@NotNull Event event, @Nullable Object value) throws InvalidDescriptionException {
+        if (value == null)
+            return null;
+        if (!(value instanceof List))
+            throw error(event, "Contributors are of wrong type");
+
+        ImmutableList.Builder<String> builder = ImmutableList.builder();
+        for (Object item : (List<?>) value) {
+            if (!(item instanceof String))
+                throw error(event, "Contributors are of wrong type");
+            builder.add((String) item);
+        }
+        return builder.build();
+    }
+
+    private static void expect(@NotNull Iterator<Event> events, @NotNull Class<? extends Event> type, @NotNull String description) throws InvalidDescriptionException {
+        Event event = next(events);
+        if (!type.isInstance(event))
+            throw error(event, "Expected " + description);
+    }
+
+    @NotNull
+    private static Event next(@NotNull Iterator<Event> events) throws InvalidDescriptionException {
+        if (!events.hasNext())
+            throw new InvalidDescriptionException("Unexpected end of app.yml");
+        return events.next();
+    }
+
+    @NotNull
+    private static InvalidDescriptionException error(@NotNull Event event, @NotNull String message) {
+        Mark mark = event.getStartMark();
+        if (mark == null)
+            return new InvalidDescriptionException(message);
+        return new InvalidDescriptionException(String.format("%s at line %d, column %d", message, mark.getLine() + 1, mark.getColumn() + 1));
+    }
+
+    /**
+     * The known keys of app.yml, filled in as their values arrive. Keys pulled in through a merge never override keys
+     * set directly in the mapping or by an earlier merge.
+     */
+    private static final class Fields {
+
+        private static final Set<String> KEYS = ImmutableSet.of("name", "version", "author", "contributors", "mainClass", "priority", "critical");
+
+        private final Set<String> assigned = new HashSet<>();
+
+        private String name;
+        private String version;
+        private String author;
+        private List<String> contributors;
+        private String mainClass;
+        private int priority;
+        private boolean critical;
+
+        private void set(@NotNull String key, @NotNull Event event, @Nullable Object value, boolean direct) throws InvalidDescriptionException {
+            if (!assigned.add(key) && !direct)
+                return;
+
+            switch (key) {
+                case "name":
+                    name = scalar(event, value, key);
+                    break;
+                case "version":
+                    version = scalar(event, value, key);
+                    break;
+                case "author":
+                    author = scalar(event, value, key);
+                    break;
+                case "contributors":
+                    contributors = sequence(event, value);
+                    break;
+                case "mainClass":
+                    mainClass = scalar(event, value, key);
+                    break;
+                case "priority":
+                    priority = integer(event, value, key);
+                    break;
+                case "critical":
+                    critical = bool(event, value, key);
+                    break;
+            }
+        }
+
+        private void merge(@NotNull Event event, @Nullable Object value) throws InvalidDescriptionException {
+            List<Map<?, ?>> maps = merged(value);
+            if (maps == null)
+                throw error(event, "Only mappings can be merged");
+
+            for (Map<?, ?> map : maps)
+                for (Map.Entry<?, ?> entry : map.entrySet())
+                    if (KEYS.contains(entry.getKey()))
+                        set((String) entry.getKey(), event, entry.getValue(), false);
+        }
+    }
+}
@@ -1,7 +1,10 @@
 package dev.JustRed23.App;
 
+import dev.JustRed23.Channel.ChannelRegistry;
 import dev.JustRed23.Exceptions.InvalidAppException;
 import dev.JustRed23.Exceptions.InvalidDescriptionException;
+import dev.JustRed23.Monitoring.AppDescriptionEvent;
+import dev.JustRed23.Monitoring.ClassLookupMissEvent;
 import dev.JustRed23.Phone.Phone;
 import org.apache.commons.lang3.Validate;
 import org.jetbrains.annotations.NotNull;
@@ -25,8 +28,17 @@ public class AppLoader {
     private final Pattern[] fileFilters = new Pattern[]{Pattern.compile("\\.jar$")};
     private final Map<String, Class<?>> classes = new ConcurrentHashMap<>();
     private final List<AppClassLoader> loaders = new CopyOnWriteArrayList<>();
+    private final AppManagerConfig config;
+    private final ChannelRegistry channelRegistry = new ChannelRegistry();
 
-    public AppLoader() {}
+    public AppLoader() {
+        this(new AppManagerConfig());
+    }
+
+    public AppLoader(@NotNull final AppManagerConfig config) {
+        Validate.notNull(config, "Config cannot be null");
+        this.config = new AppManagerConfig(config);
+    }
 
     public App loadApp(@NotNull final File jarFile) throws InvalidAppException {
         Validate.notNull(jarFile, "Jar file cannot be null");
@@ -41,7 +53,7 @@ public class AppLoader {
             throw new InvalidAppException(e);
         }
 
-        final File parentDir = jarFile.getParentFile();
+        final File parentDir = config.getDataFolder() != null ? config.getDataFolder() : jarFile.getParentFile();
         final File dataFolder = new File(parentDir, description.getAppName());
 
         if (dataFolder.exists() && !dataFolder.isDirectory())
@@ -49,7 +61,7 @@ public class AppLoader {
 
         final AppClassLoader loader;
         try {
-            loader = new AppClassLoader(this, getClass().getClassLoader(), description, dataFolder, jarFile);
+            loader = new AppClassLoader(this, config.getParentClassLoader(), description, dataFolder, jarFile, config.getJarCache());
         } catch (InvalidAppException e) {
             throw e;
         } catch (Throwable e) {
@@ -65,12 +77,51 @@ public class AppLoader {
     public AppDescription getDescription(@NotNull File file) throws InvalidDescriptionException {
         Validate.notNull(file, "File cannot be null");
 
+        AppDescriptionEvent event = new AppDescriptionEvent(file.getPath());
+        event.begin();
+
+        try {
+            final AppDescription description;
+            final SharedJarCache cache = config.getJarCache();
+
+            if (cache != null) {
+                try {
+                    AppDescription cached = cache.getDescription(file);
+                    if (cached == null) {
+                        cached = readDescription(file);
+                        cache.putDescription(file, cached);
+                    }
+                    description = cached;
+                } catch (IOException e) {
+                    throw new InvalidDescriptionException(e);
+                }
+            } else {
+                description = readDescription(file);
+            }
+
+            event.appName = description.getAppName();
+            event.success = true;
+            return description;
+        } finally {
+            event.commit();
+        }
+    }
+
+    @NotNull
+    private AppDescription readDescription(@NotNull File file) throws InvalidDescriptionException {
         JarFile jarFile = null;
         InputStream is = null;
 
         try {
             jarFile = new JarFile(file);
-            JarEntry entry = jarFile.getJarEntry("app.yml");
+            JarEntry entry = jarFile.getJarEntry("app.bin");
+
+            if (entry != null) {
+                is = jarFile.getInputStream(entry);
+                return AppDescription.fromBinary(is);
+            }
+
+            entry = jarFile.getJarEntry("app.yml");
 
             if (entry == null)
                 throw new InvalidDescriptionException(new FileNotFoundException("Jar does not contain app.yml"));
@@ -98,6 +149,11 @@ public class AppLoader {
         return fileFilters.clone();
     }
 
+    @NotNull
+    public ChannelRegistry getChannelRegistry() {
+        return channelRegistry;
+    }
+
     @Nullable
     Class<?> getClassByName(final String name) {
         Class<?> cachedClass = classes.get(name);
@@ -114,10 +170,40 @@ public class AppLoader {
                     return cachedClass;
             }
         }
+
+        ClassLookupMissEvent event = new ClassLookupMissEvent(name);
+        if (event.shouldCommit()) {
+            event.loadersSearched = loaders.size();
+            event.commit();
+        }
         return null;
     }
 
-    public void enableApp(@NotNull final App app) {
+    void close() {
+        for (AppClassLoader loader : loaders) {
+            try {
+                loader.close();
+            } catch (IOException e) {
+                Phone.getLogger().error("An error occurred while closing " + loader.app, e);
+            }
+        }
+        loaders.clear();
+        classes.clear();
+    }
+
+    public boolean initializeApp(@NotNull final App app) {
+        app.getLogger().info("Loading " + app.getDescription().getFullName());
+
+        try {
+            app.load();
+            return true;
+        } catch (Throwable e) {
+            Phone.getLogger().error("An error occurred while initializing " + app.getDescription().getFullName(), e);
+            return false;
+        }
+    }
+
+    public boolean enableApp(@NotNull final App app) {
         if (!app.isEnabled()) {
             app.getLogger().info("Enabling " + app.getDescription().getFullName());
 
@@ -132,8 +218,10 @@ public class AppLoader {
                 app.setEnabled(true);
             } catch (Throwable e) {
                 Phone.getLogger().error("An error occurred while enabling " + app.getDescription().getFullName(), e);
+                return false;
             }
         }
+        return true;
     }
 
     public void disableApp(@NotNull final App app) {
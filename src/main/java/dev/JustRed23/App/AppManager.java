@@ -2,6 +2,7 @@ package dev.JustRed23.App;
 
 import dev.JustRed23.Exceptions.InvalidAppException;
 import dev.JustRed23.Exceptions.InvalidDescriptionException;
+import dev.JustRed23.Monitoring.AppScanEvent;
 import dev.JustRed23.Phone.Phone;
 import org.apache.commons.lang3.Validate;
 import org.jetbrains.annotations.NotNull;
@@ -16,12 +17,26 @@ import java.util.stream.Collectors;
 
 public class AppManager {
 
+    static final Comparator<AppDescription> LOAD_ORDER = Comparator
+            .comparing(AppDescription::isCritical, Comparator.reverseOrder())
+            .thenComparing(AppDescription::getPriority, Comparator.reverseOrder())
+            .thenComparing(AppDescription::getAppName);
+
     private final Map<Pattern, AppLoader> fileAssociations = new HashMap<>();
     private final List<App> apps = new ArrayList<>();
     private final Map<String, App> lookupNames = new HashMap<>();
+    private final AppResourceMonitor resourceMonitor = new AppResourceMonitor(this);
+    private final AppManagerConfig config;
 
     public AppManager() {
-        AppLoader instance = new AppLoader();
+        this(new AppManagerConfig());
+    }
+
+    public AppManager(@NotNull AppManagerConfig config) {
+        Validate.notNull(config, "Config cannot be null");
+        this.config = new AppManagerConfig(config);
+
+        AppLoader instance = new AppLoader(this.config);
 
         Pattern[] patterns = instance.getFileFilters();
 
@@ -32,18 +47,58 @@ public class AppManager {
         }
     }
 
+    @NotNull
+    public AppManagerConfig getConfig() {
+        return new AppManagerConfig(config);
+    }
+
+    @NotNull
+    public App[] loadApps() {
+        Validate.validState(config.getAppFolder() != null, "No app folder configured for %s", config.getName());
+        return loadApps(config.getAppFolder());
+    }
+
     @NotNull
     public App[] loadApps(@NotNull File directory) {
         Validate.notNull(directory, "Directory cannot be null");
         Validate.isTrue(directory.isDirectory(), "Directory must be a directory");
 
+        AppScanEvent event = new AppScanEvent(directory.getPath());
+        event.begin();
+
         List<App> result = new ArrayList<>();
+
+        for (File file : scanApps(directory, event).keySet()) {
+            try {
+                App loadedApp = loadApp(file);
+                if (loadedApp != null)
+                    result.add(loadedApp);
+                else
+                    Phone.getLogger().error("Could not load '" + file.getPath() + "' in folder '" + directory.getPath() + "'");
+            } catch (InvalidAppException e) {
+                Phone.getLogger().error("Could not load '" + file.getPath() + "' in folder '" + directory.getPath() + "'", e);
+            }
+        }
+
+        event.appsLoaded = result.size();
+        event.commit();
+
+        return result.toArray(new App[0]);
+    }
+
+    @NotNull
+    Map<File, AppDescription> scanApps(@NotNull File directory, @NotNull AppScanEvent event) {
         Set<Pattern> filters = fileAssociations.keySet();
 
         Map<String, File> apps = new HashMap<>();
-        Set<String> loadedApps = new HashSet<>();
+        Map<String, AppDescription> descriptions = new HashMap<>();
 
-        for (File file : directory.listFiles()) {
+        File[] files = directory.listFiles();
+        if (files == null)
+            throw new IllegalStateException("Could not list the files in " + directory.getPath());
+        event.filesScanned = files.length;
+
+        for (File file : files) {
             AppLoader loader = null;
             for (Pattern filter : filters) {
                 Matcher match = filter.matcher(file.getName());
@@ -63,37 +118,26 @@ public class AppManager {
             }
 
             File replacedFile = apps.put(description.getAppName(), file);
+            descriptions.put(description.getAppName(), description);
             if (replacedFile != null)
                 Phone.getLogger().error(String.format("Ambiguous app name `%s' for files `%s' and `%s' in `%s'", description.getAppName(), file.getPath(), replacedFile.getPath(), directory.getPath()));
         }
 
-        while (!apps.isEmpty()) {
-            Iterator<Map.Entry<String, File>> appIterator = apps.entrySet().iterator();
-
-            while (appIterator.hasNext()) {
-                Map.Entry<String, File> entry = appIterator.next();
-                String app = entry.getKey();
-
-                File file = apps.get(app);
-                appIterator.remove();
-
-                try {
-                    App loadedApp = loadApp(file);
-                    if (loadedApp != null) {
-                        result.add(loadedApp);
-                        loadedApps.add(loadedApp.getDescription().getAppName());
-                    } else
-                        Phone.getLogger().error("Could not load '" + file.getPath() + "' in folder '" + directory.getPath() + "'");
-                } catch (InvalidAppException e) {
-                    Phone.getLogger().error("Could not load '" + file.getPath() + "' in folder '" + directory.getPath() + "'", e);
-                }
-            }
-        }
-        return result.toArray(new App[0]);
+        event.appsFound = apps.size();
+
+        Map<File, AppDescription> result = new LinkedHashMap<>();
+        descriptions.values().stream()
+                .sorted(LOAD_ORDER)
+                .forEach(description -> result.put(apps.get(description.getAppName()), description));
+        return result;
     }
 
+    /**
+     * Creating the class loader and constructing the app happen outside the manager lock, so several apps can be loaded
+     * at once. Only registering the result is synchronized.
+     */
     @Nullable
-    public synchronized App loadApp(@NotNull File file) throws InvalidAppException {
+    public App loadApp(@NotNull File file) throws InvalidAppException {
         Validate.notNull(file, "File cannot be null");
 
         Set<Pattern> filters = fileAssociations.keySet();
@@ -110,8 +154,10 @@ public class AppManager {
         }
 
         if (result != null) {
-            apps.add(result);
-            lookupNames.put(result.getDescription().getAppName(), result);
+            synchronized (this) {
+                apps.add(result);
+                lookupNames.put(result.getDescription().getAppName(), result);
+            }
         }
 
         return result;
@@ -131,7 +177,7 @@ public class AppManager {
         return isAppEnabled(getApp(name));
     }
 
-    public boolean isAppEnabled(@Nullable App app) {
+    public synchronized boolean isAppEnabled(@Nullable App app) {
         if ((app != null) && (apps.contains(app))) {
             return app.isEnabled();
         } else {
@@ -139,14 +185,30 @@ public class AppManager {
         }
     }
 
-    public void enableApp(@NotNull final App app) {
+    @NotNull
+    public AppResourceMonitor getResourceMonitor() {
+        return resourceMonitor;
+    }
+
+    public boolean initializeApp(@NotNull final App app) {
+        try {
+            return app.getLoader().initializeApp(app);
+        } catch (Throwable e) {
+            Phone.getLogger().error("An error occurred (in the app loader) while initializing " + app.getDescription().getFullName(), e);
+            return false;
+        }
+    }
+
+    public boolean enableApp(@NotNull final App app) {
         if (!app.isEnabled()) {
             try {
-                app.getLoader().enableApp(app);
+                return app.getLoader().enableApp(app);
             } catch (Throwable e) {
                 Phone.getLogger().error("An error occurred (in the app loader) while enabling " + app.getDescription().getFullName(), e);
+                return false;
             }
         }
+        return true;
     }
 
     public void disableApps() {
@@ -162,4 +224,17 @@ public class AppManager {
                 Phone.getLogger().error("An error occurred (in the app loader) while disabling " + app.getDescription().getFullName(), e);
             }
     }
+
+    public void close() {
+        resourceMonitor.stop();
+        disableApps();
+
+        for (AppLoader loader : new HashSet<>(fileAssociations.values()))
+            loader.close();
+
+        synchronized (this) {
+            apps.clear();
+            lookupNames.clear();
+        }
+    }
 }
@@ -0,0 +1,87 @@
+package dev.JustRed23.App;
+
+import org.apache.commons.lang3.Validate;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+
+public class AppManagerConfig {
+
+    private String name = "default";
+    private File appFolder;
+    private File dataFolder;
+    private SharedJarCache jarCache;
+    private ClassLoader parentClassLoader = AppManagerConfig.class.getClassLoader();
+
+    public AppManagerConfig() {}
+
+    public AppManagerConfig(@NotNull AppManagerConfig config) {
+        Validate.notNull(config, "Config cannot be null");
+        this.name = config.name;
+        this.appFolder = config.appFolder;
+        this.dataFolder = config.dataFolder;
+        this.jarCache = config.jarCache;
+        this.parentClassLoader = config.parentClassLoader;
+    }
+
+    @NotNull
+    public String getName() {
+        return name;
+    }
+
+    @NotNull
+    public AppManagerConfig setName(@NotNull String name) {
+        Validate.notEmpty(name, "Name cannot be empty");
+        this.name = name;
+        return this;
+    }
+
+    @Nullable
+    public File getAppFolder() {
+        return appFolder;
+    }
+
+    @NotNull
+    public AppManagerConfig setAppFolder(@Nullable File appFolder) {
+        this.appFolder = appFolder;
+        return this;
+    }
+
+    /**
+     * Folder holding the data folders of the apps, or {@code null} to place them next to the app jars.
+     */
+    @Nullable
+    public File getDataFolder() {
+        return dataFolder;
+    }
+
+    @NotNull
+    public AppManagerConfig setDataFolder(@Nullable File dataFolder) {
+        this.dataFolder = dataFolder;
+        return this;
+    }
+
+    @Nullable
+    public SharedJarCache getJarCache() {
+        return jarCache;
+    }
+
+    @NotNull
+    public AppManagerConfig setJarCache(@Nullable SharedJarCache jarCache) {
+        this.jarCache = jarCache;
+        return this;
+    }
+
+    @NotNull
+    public ClassLoader getParentClassLoader() {
+        return parentClassLoader;
+    }
+
+    @NotNull
+    public AppManagerConfig setParentClassLoader(@NotNull ClassLoader parentClassLoader) {
+        Validate.notNull(parentClassLoader, "Parent class loader cannot be null");
+        this.parentClassLoader = parentClassLoader;
+        return this;
+    }
+}
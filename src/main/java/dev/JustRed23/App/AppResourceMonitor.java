@@ -0,0 +1,121 @@
+package dev.JustRed23.App;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import dev.JustRed23.App.ResourceQuota.Resource;
+import dev.JustRed23.Phone.Phone;
+import org.apache.commons.lang3.Validate;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+public class AppResourceMonitor {
+
+    private final AppManager manager;
+    private final Map<String, ResourceQuota> quotas = new ConcurrentHashMap<>();
+    private volatile ResourceQuota defaultQuota = new ResourceQuota();
+
+    private ScheduledExecutorService executor;
+
+    AppResourceMonitor(@NotNull AppManager manager) {
+        this.manager = manager;
+    }
+
+    @NotNull
+    public ResourceQuota getDefaultQuota() {
+        return new ResourceQuota(defaultQuota);
+    }
+
+    public void setDefaultQuota(@NotNull ResourceQuota quota) {
+        Validate.notNull(quota, "Quota cannot be null");
+        defaultQuota = new ResourceQuota(quota);
+    }
+
+    @NotNull
+    public ResourceQuota getQuota(@NotNull String appName) {
+        ResourceQuota quota = quotas.get(appName);
+        return new ResourceQuota(quota != null ? quota : defaultQuota);
+    }
+
+    public void setQuota(@NotNull String appName, @Nullable ResourceQuota quota) {
+        Validate.notNull(appName, "App name cannot be null");
+
+        if (quota == null)
+            quotas.remove(appName);
+        else
+            quotas.put(appName, new ResourceQuota(quota));
+    }
+
+    public synchronized void start(long period, @NotNull TimeUnit unit) {
+        Validate.isTrue(period > 0, "Period must be positive");
+        Validate.notNull(unit, "Unit cannot be null");
+
+        if (executor != null)
+            throw new IllegalStateException("Resource monitor already started");
+
+        executor = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setNameFormat("AppResourceMonitor-" + manager.getConfig().getName()).setDaemon(true).build());
+        executor.scheduleAtFixedRate(() -> {
+            try {
+                sample();
+            } catch (Throwable e) {
+                Phone.getLogger().error("An error occurred while sampling app resource usage", e);
+            }
+        }, period, period, unit);
+    }
+
+    public synchronized void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    public synchronized void sample() {
+        long now = System.nanoTime();
+        Map<ClassLoader, List<Thread>> threadsByLoader = new IdentityHashMap<>();
+        for (Thread thread : ThreadAccounting.liveThreads()) {
+            ClassLoader contextLoader = thread.getContextClassLoader();
+            if (contextLoader instanceof AppClassLoader)
+                threadsByLoader.computeIfAbsent(contextLoader, loader -> new ArrayList<>()).add(thread);
+        }
+
+        for (App app : manager.getApps()) {
+            ClassLoader classLoader = app.getClassLoader();
+            AppResourceUsage usage = app.getResourceUsage();
+
+            usage.sampleThreads(threadsByLoader.getOrDefault(classLoader, Collections.emptyList()));
+            usage.sampleRates(now);
+            if (classLoader instanceof AppClassLoader)
+                usage.setDefinedClasses(((AppClassLoader) classLoader).getDefinedClassCount());
+
+            checkQuota(app, usage);
+        }
+    }
+
+    private void checkQuota(@NotNull App app, @NotNull AppResourceUsage usage) {
+        ResourceQuota quota = quotas.getOrDefault(app.getDescription().getAppName(), defaultQuota);
+        if (quota.isUnlimited())
+            return;
+
+        for (Resource resource : Resource.values()) {
+            long value = usage.get(resource);
+            String unit = resource.isRate() ? "/s" : "";
+
+            if (value > quota.getHardLimit(resource)) {
+                if (app.isEnabled()) {
+                    Phone.getLogger().error(String.format("%s exceeded the hard %s quota (%d%s > %d%s), disabling", app.getDescription().getFullName(), resource.getKey(), value, unit, quota.getHardLimit(resource), unit));
+                    manager.disableApp(app);
+                }
+            } else if (value > quota.getSoftLimit(resource)) {
+                if (usage.softLimitsExceeded.add(resource))
+                    Phone.getLogger().warn(String.format("%s exceeded the soft %s quota (%d%s > %d%s)", app.getDescription().getFullName(), resource.getKey(), value, unit, quota.getSoftLimit(resource), unit));
+            } else {
+                usage.softLimitsExceeded.remove(resource);
+            }
+        }
+    }
+}
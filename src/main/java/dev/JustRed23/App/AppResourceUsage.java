@@ -0,0 +1,157 @@
+package dev.JustRed23.App;
+
+import dev.JustRed23.App.ResourceQuota.Resource;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class AppResourceUsage {
+
+    private final AtomicLong cpuTime = new AtomicLong();
+    private final AtomicLong allocatedBytes = new AtomicLong();
+    private volatile int liveThreads;
+    private volatile int definedClasses;
+    private volatile long cpuTimeRate;
+    private volatile long allocationRate;
+
+    private long lastSampleTime;
+    private long lastCpuTime;
+    private long lastAllocatedBytes;
+
+    private final Map<Long, long[]> threadSnapshots = new ConcurrentHashMap<>();
+    private final Map<Long, long[]> callbackThreads = new ConcurrentHashMap<>();
+    final Set<Resource> softLimitsExceeded = EnumSet.noneOf(Resource.class);
+
+    AppResourceUsage() {}
+
+    public long getCpuTime() {
+        return cpuTime.get();
+    }
+
+    public long getAllocatedBytes() {
+        return allocatedBytes.get();
+    }
+
+    /**
+     * @return nanoseconds of CPU time used per second during the last sampling period
+     */
+    public long getCpuTimeRate() {
+        return cpuTimeRate;
+    }
+
+    /**
+     * @return bytes allocated per second during the last sampling period
+     */
+    public long getAllocationRate() {
+        return allocationRate;
+    }
+
+    public int getLiveThreads() {
+        return liveThreads;
+    }
+
+    public int getDefinedClasses() {
+        return definedClasses;
+    }
+
+    /**
+     * @return the value quotas on the resource are checked against, a rate per second for {@link Resource#isRate()}
+     */
+    public long get(@NotNull Resource resource) {
+        switch (resource) {
+            case CPU_TIME:
+                return getCpuTimeRate();
+            case ALLOCATED_BYTES:
+                return getAllocationRate();
+            case LIVE_THREADS:
+                return getLiveThreads();
+            case DEFINED_CLASSES:
+                return getDefinedClasses();
+            default:
+                throw new IllegalArgumentException(String.format("Unknown resource %s", resource));
+        }
+    }
+
+    /**
+     * Starts accounting a callback running on the given thread. Until {@link #endCallback(long)} the thread is sampled
+     * together with the app's own threads, so a long callback is spread over the periods it ran in.
+     *
+     * @return false if the thread is already in a callback of this app
+     */
+    boolean beginCallback(long threadId) {
+        long cpu = ThreadAccounting.cpuTime(threadId);
+        long allocated = ThreadAccounting.allocatedBytes(threadId);
+        return callbackThreads.putIfAbsent(threadId, new long[]{cpu, allocated, cpu, allocated}) == null;
+    }
+
+    void endCallback(long threadId) {
+        callbackThreads.computeIfPresent(threadId, (id, callback) -> {
+            accountCallback(id, callback);
+            threadSnapshots.computeIfPresent(id, (ignored, snapshot) -> new long[]{snapshot[0] + callback[2] - callback[0], snapshot[1] + callback[3] - callback[1]});
+            return null;
+        });
+    }
+
+    /**
+     * Adds what a callback thread used since it was last accounted. The array holds the CPU time and allocated bytes of
+     * the thread when the callback started, followed by the values it was last accounted at.
+     */
+    private void accountCallback(long threadId, long[] callback) {
+        long cpu = ThreadAccounting.cpuTime(threadId);
+        long allocated = ThreadAccounting.allocatedBytes(threadId);
+
+        cpuTime.addAndGet(Math.max(cpu - callback[2], 0));
+        allocatedBytes.addAndGet(Math.max(allocated - callback[3], 0));
+        callback[2] = Math.max(cpu, callback[2]);
+        callback[3] = Math.max(allocated, callback[3]);
+    }
+
+    void sampleThreads(@NotNull List<Thread> threads) {
+        for (Long id : callbackThreads.keySet())
+            callbackThreads.computeIfPresent(id, (key, callback) -> {
+                accountCallback(key, callback);
+                return callback;
+            });
+
+        Set<Long> seen = new HashSet<>();
+
+        for (Thread thread : threads) {
+            long id = thread.getId();
+            seen.add(id);
+
+            if (callbackThreads.containsKey(id))
+                continue;
+
+            long cpu = ThreadAccounting.cpuTime(id);
+            long allocated = ThreadAccounting.allocatedBytes(id);
+            long[] previous = threadSnapshots.put(id, new long[]{cpu, allocated});
+
+            cpuTime.addAndGet(previous == null ? cpu : Math.max(cpu - previous[0], 0));
+            allocatedBytes.addAndGet(previous == null ? allocated : Math.max(allocated - previous[1], 0));
+        }
+
+        threadSnapshots.keySet().retainAll(seen);
+        liveThreads = threads.size();
+    }
+
+    void sampleRates(long now) {
+        long cpu = cpuTime.get();
+        long allocated = allocatedBytes.get();
+
+        if (lastSampleTime != 0 && now > lastSampleTime) {
+            double seconds = (now - lastSampleTime) / 1e9;
+            cpuTimeRate = (long) ((cpu - lastCpuTime) / seconds);
+            allocationRate = (long) ((allocated - lastAllocatedBytes) / seconds);
+        }
+
+        lastSampleTime = now;
+        lastCpuTime = cpu;
+        lastAllocatedBytes = allocated;
+    }
+
+    void setDefinedClasses(int definedClasses) {
+        this.definedClasses = definedClasses;
+    }
+}
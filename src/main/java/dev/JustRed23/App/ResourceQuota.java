@@ -0,0 +1,106 @@
+package dev.JustRed23.App;
+
+import org.apache.commons.lang3.Validate;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Properties;
+
+public class ResourceQuota {
+
+    public static final long UNLIMITED = Long.MAX_VALUE;
+
+    public enum Resource {
+        CPU_TIME("cpu-time", true),
+        ALLOCATED_BYTES("allocated-bytes", true),
+        LIVE_THREADS("live-threads", false),
+        DEFINED_CLASSES("defined-classes", false);
+
+        private final String key;
+        private final boolean rate;
+
+        Resource(String key, boolean rate) {
+            this.key = key;
+            this.rate = rate;
+        }
+
+        @NotNull
+        public String getKey() {
+            return key;
+        }
+
+        /**
+         * @return whether limits on this resource apply to its usage per second instead of to its current value
+         */
+        public boolean isRate() {
+            return rate;
+        }
+    }
+
+    private final Map<Resource, Long> softLimits = new EnumMap<>(Resource.class);
+    private final Map<Resource, Long> hardLimits = new EnumMap<>(Resource.class);
+
+    public ResourceQuota() {}
+
+    public ResourceQuota(@NotNull ResourceQuota quota) {
+        Validate.notNull(quota, "Quota cannot be null");
+        softLimits.putAll(quota.softLimits);
+        hardLimits.putAll(quota.hardLimits);
+    }
+
+    @NotNull
+    public ResourceQuota setSoftLimit(@NotNull Resource resource, long limit) {
+        Validate.notNull(resource, "Resource cannot be null");
+        Validate.isTrue(limit > 0, "Limit must be positive");
+        softLimits.put(resource, limit);
+        return this;
+    }
+
+    @NotNull
+    public ResourceQuota setHardLimit(@NotNull Resource resource, long limit) {
+        Validate.notNull(resource, "Resource cannot be null");
+        Validate.isTrue(limit > 0, "Limit must be positive");
+        hardLimits.put(resource, limit);
+        return this;
+    }
+
+    public long getSoftLimit(@NotNull Resource resource) {
+        return softLimits.getOrDefault(resource, UNLIMITED);
+    }
+
+    public long getHardLimit(@NotNull Resource resource) {
+        return hardLimits.getOrDefault(resource, UNLIMITED);
+    }
+
+    public boolean isUnlimited() {
+        return softLimits.isEmpty() && hardLimits.isEmpty();
+    }
+
+    /**
+     * Reads limits from keys like {@code <prefix>cpu-time.soft} and {@code <prefix>live-threads.hard}.
+     * CPU time is limited in nanoseconds of CPU time per second (1000000000 is one busy core) and allocations in bytes
+     * per second, both averaged over the sampling period. Threads and classes are limited by their current count.
+     */
+    @NotNull
+    public static ResourceQuota fromProperties(@NotNull Properties properties, @NotNull String prefix) {
+        Validate.notNull(properties, "Properties cannot be null");
+        Validate.notNull(prefix, "Prefix cannot be null");
+
+        ResourceQuota quota = new ResourceQuota();
+        for (Resource resource : Resource.values()) {
+            String soft = properties.getProperty(prefix + resource.getKey() + ".soft");
+            String hard = properties.getProperty(prefix + resource.getKey() + ".hard");
+
+            try {
+                if (soft != null)
+                    quota.setSoftLimit(resource, Long.parseLong(soft.trim()));
+                if (hard != null)
+                    quota.setHardLimit(resource, Long.parseLong(hard.trim()));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException(String.format("Invalid quota for %s", resource.getKey()), e);
+            }
+        }
+        return quota;
+    }
+}
@@ -0,0 +1,191 @@
+package dev.JustRed23.App;
+
+import com.google.common.hash.Hashing;
+import com.google.common.io.ByteStreams;
+import com.google.common.io.Files;
+import org.apache.commons.lang3.Validate;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.security.CodeSigner;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+/**
+ * Cache of jar entries and parsed descriptors that can be shared between {@link AppManager} instances.
+ * Jars are keyed by the SHA-256 of their contents, entries are kept off-heap in read-only direct buffers. Parsed
+ * descriptors are keyed by path so scanning never hashes a jar.
+ */
+public class SharedJarCache {
+
+    private final Map<String, CachedJar> jars = new ConcurrentHashMap<>();
+    private final Map<String, Stamped<String>> digests = new ConcurrentHashMap<>();
+    private final Map<String, Stamped<AppDescription>> descriptions = new ConcurrentHashMap<>();
+    private final AtomicLong storedBytes = new AtomicLong();
+
+    public SharedJarCache() {}
+
+    /**
+     * Hashes the whole jar, so this is only done when a jar is actually loaded. The result is remembered per path until
+     * the jar's size or modification time changes.
+     */
+    @NotNull
+    String digest(@NotNull File file) throws IOException {
+        Validate.notNull(file, "File cannot be null");
+
+        String path = file.getCanonicalPath();
+        Stamped<String> known = digests.get(path);
+        if (known != null && known.matches(file))
+            return known.value;
+
+        Stamped<String> digest = new Stamped<>(file, Files.asByteSource(file).hash(Hashing.sha256()).toString());
+        digests.put(path, digest);
+        return digest.value;
+    }
+
+    /**
+     * Descriptions are keyed by path, size and modification time instead of by digest, so scanning a folder only reads
+     * the descriptor of each jar and never the whole jar.
+     */
+    @Nullable
+    AppDescription getDescription(@NotNull File file) throws IOException {
+        Stamped<AppDescription> known = descriptions.get(file.getCanonicalPath());
+        return known != null && known.matches(file) ? known.value : null;
+    }
+
+    void putDescription(@NotNull File file, @NotNull AppDescription description) throws IOException {
+        descriptions.put(file.getCanonicalPath(), new Stamped<>(file, description));
+    }
+
+    @NotNull
+    private CachedJar get(@NotNull File file) throws IOException {
+        return jars.computeIfAbsent(digest(file), CachedJar::new);
+    }
+
+    @NotNull
+    CachedJar acquire(@NotNull File file) throws IOException {
+        while (true) {
+            CachedJar jar = get(file);
+            if (jar.retain())
+                return jar;
+        }
+    }
+
+    void release(@NotNull CachedJar jar) {
+        if (jar.release()) {
+            jars.remove(jar.digest, jar);
+            storedBytes.addAndGet(-jar.storedBytes.get());
+        }
+    }
+
+    public int getJarCount() {
+        return jars.size();
+    }
+
+    public long getStoredBytes() {
+        return storedBytes.get();
+    }
+
+    private static final class Stamped<T> {
+
+        private final long size;
+        private final long lastModified;
+        private final T value;
+
+        private Stamped(File file, T value) {
+            this.size = file.length();
+            this.lastModified = file.lastModified();
+            this.value = value;
+        }
+
+        private boolean matches(File file) {
+            return size == file.length() && lastModified == file.lastModified();
+        }
+    }
+
+    static final class Entry {
+
+        private final ByteBuffer data;
+        private final CodeSigner[] signers;
+
+        private Entry(ByteBuffer data, CodeSigner[] signers) {
+            this.data = data;
+            this.signers = signers;
+        }
+
+        @NotNull
+        ByteBuffer getData() {
+            return data.duplicate();
+        }
+
+        @Nullable
+        CodeSigner[] getSigners() {
+            return signers;
+        }
+    }
+
+    final class CachedJar {
+
+        private final String digest;
+        private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+        private final AtomicInteger references = new AtomicInteger();
+        private final AtomicLong storedBytes = new AtomicLong();
+
+        private CachedJar(String digest) {
+            this.digest = digest;
+        }
+
+        @NotNull
+        Entry getEntry(@NotNull JarFile jar, @NotNull JarEntry jarEntry) throws IOException {
+            Entry entry = entries.get(jarEntry.getName());
+
+            if (entry == null) {
+                byte[] bytes;
+                try (InputStream is = jar.getInputStream(jarEntry)) {
+                    bytes = ByteStreams.toByteArray(is);
+                }
+
+                ByteBuffer data = ByteBuffer.allocateDirect(bytes.length);
+                data.put(bytes).flip();
+
+                Entry loaded = new Entry(data.asReadOnlyBuffer(), jarEntry.getCodeSigners());
+                entry = entries.putIfAbsent(jarEntry.getName(), loaded);
+
+                if (entry == null) {
+                    entry = loaded;
+                    storedBytes.addAndGet(bytes.length);
+                    SharedJarCache.this.storedBytes.addAndGet(bytes.length);
+                }
+            }
+            return entry;
+        }
+
+        private boolean retain() {
+            int count;
+            do {
+                count = references.get();
+                if (count < 0)
+                    return false;
+            } while (!references.compareAndSet(count, count + 1));
+            return true;
+        }
+
+        private boolean release() {
+            int count;
+            do {
+                count = references.get();
+                if (count <= 0)
+                    throw new IllegalStateException("Jar released more often than acquired");
+            } while (!references.compareAndSet(count, count == 1 ? -1 : count - 1));
+            return count == 1;
+        }
+    }
+}
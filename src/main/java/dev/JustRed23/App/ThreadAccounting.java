@@ -0,0 +1,38 @@
+package dev.JustRed23.App;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+final class ThreadAccounting {
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+    private static final com.sun.management.ThreadMXBean EXTENDED_THREADS = THREADS instanceof com.sun.management.ThreadMXBean ? (com.sun.management.ThreadMXBean) THREADS : null;
+
+    private static final boolean CPU_TIME = THREADS.isThreadCpuTimeSupported() && THREADS.isThreadCpuTimeEnabled();
+    private static final boolean ALLOCATED_BYTES = EXTENDED_THREADS != null && EXTENDED_THREADS.isThreadAllocatedMemorySupported() && EXTENDED_THREADS.isThreadAllocatedMemoryEnabled();
+
+    private ThreadAccounting() {}
+
+    static long cpuTime(long threadId) {
+        return CPU_TIME ? Math.max(THREADS.getThreadCpuTime(threadId), 0) : 0;
+    }
+
+    static long allocatedBytes(long threadId) {
+        return ALLOCATED_BYTES ? Math.max(EXTENDED_THREADS.getThreadAllocatedBytes(threadId), 0) : 0;
+    }
+
+    static Thread[] liveThreads() {
+        ThreadGroup root = Thread.currentThread().getThreadGroup();
+        while (root.getParent() != null)
+            root = root.getParent();
+
+        Thread[] threads = new Thread[root.activeCount() + 16];
+        int count;
+        while ((count = root.enumerate(threads, true)) == threads.length)
+            threads = new Thread[threads.length * 2];
+
+        Thread[] result = new Thread[count];
+        System.arraycopy(threads, 0, result, 0, count);
+        return result;
+    }
+}
@@ -0,0 +1,47 @@
+package dev.JustRed23.Channel;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+
+public final class BlockingWaitStrategy implements WaitStrategy {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition condition = lock.newCondition();
+    private final AtomicInteger waiters = new AtomicInteger();
+
+    public void await(@NotNull BooleanSupplier ready) throws InterruptedException {
+        if (ready.getAsBoolean())
+            return;
+
+        lock.lockInterruptibly();
+        try {
+            waiters.incrementAndGet();
+            try {
+                while (!ready.getAsBoolean())
+                    condition.await();
+            } finally {
+                waiters.decrementAndGet();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void signal() {
+        VarHandle.fullFence();
+        if (waiters.get() == 0)
+            return;
+
+        lock.lock();
+        try {
+            condition.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
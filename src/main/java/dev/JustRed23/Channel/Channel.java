@@ -0,0 +1,142 @@
+package dev.JustRed23.Channel;
+
+import org.apache.commons.lang3.Validate;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Handle on a named off-heap channel. Any number of handles may produce into a {@link ProducerMode#MULTI} channel,
+ * a {@link ProducerMode#SINGLE} channel must only be written by one thread at a time, and only one thread at a time
+ * may consume from either.
+ */
+public class Channel implements AutoCloseable {
+
+    private final ChannelRegistry registry;
+    private final RingBuffer ring;
+    private volatile boolean closed;
+
+    Channel(@NotNull ChannelRegistry registry, @NotNull RingBuffer ring) {
+        this.registry = registry;
+        this.ring = ring;
+    }
+
+    @NotNull
+    public String getName() {
+        return ring.getName();
+    }
+
+    public int getCapacity() {
+        return ring.getCapacity();
+    }
+
+    public int getMaxMessageLength() {
+        return ring.getMaxMessageLength();
+    }
+
+    @NotNull
+    public ProducerMode getMode() {
+        return ring.getMode();
+    }
+
+    public boolean isClosed() {
+        return closed || ring.isClosed();
+    }
+
+    public boolean offer(@NotNull ByteBuffer message) {
+        Validate.notNull(message, "Message cannot be null");
+        return offer(message.remaining(), buffer -> buffer.put(message.duplicate()));
+    }
+
+    public boolean offer(int length, @NotNull MessageWriter writer) {
+        Validate.notNull(writer, "Writer cannot be null");
+        checkOpen();
+        ring.checkLength(length);
+
+        int index = ring.claim(RingBuffer.recordLength(length));
+        if (index < 0)
+            return false;
+
+        write(index, length, writer);
+        ring.getWaitStrategy().signal();
+        return true;
+    }
+
+    /**
+     * Writes all messages with a single claim, so they are either all accepted or all rejected and stay in order.
+     */
+    public boolean offer(@NotNull ByteBuffer... messages) {
+        Validate.noNullElements(messages, "Messages cannot be null");
+        checkOpen();
+
+        int required = 0;
+        for (ByteBuffer message : messages) {
+            ring.checkLength(message.remaining());
+            required += RingBuffer.recordLength(message.remaining());
+        }
+        if (required == 0)
+            return true;
+
+        int index = ring.claim(required);
+        if (index < 0)
+            return false;
+
+        for (ByteBuffer message : messages) {
+            int length = message.remaining();
+            write(index, length, buffer -> buffer.put(message.duplicate()));
+            index += RingBuffer.recordLength(length);
+        }
+        ring.getWaitStrategy().signal();
+        return true;
+    }
+
+    public void put(@NotNull ByteBuffer message) throws InterruptedException {
+        Validate.notNull(message, "Message cannot be null");
+        put(message.remaining(), buffer -> buffer.put(message.duplicate()));
+    }
+
+    public void put(int length, @NotNull MessageWriter writer) throws InterruptedException {
+        int required = RingBuffer.recordLength(length);
+        while (!offer(length, writer))
+            ring.getWaitStrategy().await(() -> isClosed() || ring.hasCapacity(required));
+    }
+
+    public int poll(@NotNull MessageHandler handler, int limit) {
+        Validate.notNull(handler, "Handler cannot be null");
+        Validate.isTrue(limit > 0, "Limit must be positive");
+        checkOpen();
+
+        return ring.read(handler, limit);
+    }
+
+    public int take(@NotNull MessageHandler handler, int limit) throws InterruptedException {
+        int messages;
+        while ((messages = poll(handler, limit)) == 0)
+            ring.getWaitStrategy().await(() -> isClosed() || ring.hasMessage());
+        return messages;
+    }
+
+    public void close() {
+        if (closed)
+            return;
+
+        closed = true;
+        registry.release(ring);
+        ring.getWaitStrategy().signal();
+    }
+
+    private void write(int index, int length, MessageWriter writer) {
+        try {
+            writer.write(ring.writeView(index, length));
+        } catch (Throwable e) {
+            ring.abort(index, length);
+            throw e;
+        }
+        ring.commit(index, length);
+    }
+
+    private void checkOpen() {
+        if (isClosed())
+            throw new IllegalStateException(String.format("Channel %s is closed", getName()));
+    }
+}
@@ -0,0 +1,53 @@
+package dev.JustRed23.Channel;
+
+import org.apache.commons.lang3.Validate;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+public class ChannelRegistry {
+
+    public static final int DEFAULT_CAPACITY = 1 << 20;
+
+    private final Map<String, RingBuffer> channels = new HashMap<>();
+
+    public ChannelRegistry() {}
+
+    /**
+     * Opens a handle on the channel with the given name, creating it if no other handle is open. Handles on an
+     * existing channel must ask for the same capacity and producer mode, the existing wait strategy is kept.
+     */
+    @NotNull
+    public synchronized Channel open(@NotNull String name, int capacity, @NotNull ProducerMode mode, @NotNull WaitStrategy waitStrategy) {
+        Validate.notEmpty(name, "Name cannot be empty");
+        Validate.isTrue(capacity >= 64 && Integer.bitCount(capacity) == 1, "Capacity must be a power of two of at least 64");
+        Validate.notNull(mode, "Mode cannot be null");
+        Validate.notNull(waitStrategy, "Wait strategy cannot be null");
+
+        RingBuffer ring = channels.get(name);
+        if (ring == null) {
+            ring = new RingBuffer(name, capacity, mode, waitStrategy);
+            channels.put(name, ring);
+        } else if (ring.getCapacity() != capacity || ring.getMode() != mode) {
+            throw new IllegalArgumentException(String.format("Channel %s already exists with capacity %d and mode %s", name, ring.getCapacity(), ring.getMode()));
+        }
+
+        ring.references++;
+        return new Channel(this, ring);
+    }
+
+    @NotNull
+    public synchronized Set<String> getChannelNames() {
+        return new TreeSet<>(channels.keySet());
+    }
+
+    synchronized void release(@NotNull RingBuffer ring) {
+        if (--ring.references == 0) {
+            channels.remove(ring.getName(), ring);
+            ring.close();
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package dev.JustRed23.Channel;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+
+@FunctionalInterface
+public interface MessageHandler {
+
+    /**
+     * Called for every message read from a channel. The message lies between the position and limit of
+     * {@code message}, a read-only view of the channel memory that is only valid for the duration of the call.
+     */
+    void onMessage(@NotNull ByteBuffer message);
+}
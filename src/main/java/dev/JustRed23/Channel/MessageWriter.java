@@ -0,0 +1,15 @@
+package dev.JustRed23.Channel;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+
+@FunctionalInterface
+public interface MessageWriter {
+
+    /**
+     * Writes a message directly into channel memory. {@code buffer} is positioned at the start of the claimed
+     * region and limited to the claimed length; anything it throws aborts the message.
+     */
+    void write(@NotNull ByteBuffer buffer);
+}
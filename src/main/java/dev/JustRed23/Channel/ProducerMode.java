@@ -0,0 +1,6 @@
+package dev.JustRed23.Channel;
+
+public enum ProducerMode {
+    SINGLE,
+    MULTI
+}
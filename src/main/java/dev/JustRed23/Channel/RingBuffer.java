@@ -0,0 +1,203 @@
+package dev.JustRed23.Channel;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Off-heap ring buffer of length-prefixed records with a single consumer. Every record starts with an 8 byte header
+ * holding its length and type; a producer publishes a record by writing its length last, a consumer frees it by
+ * zeroing it before moving the head past it. Records that do not fit before the end of the buffer are preceded by a
+ * padding record so every message is contiguous.
+ */
+final class RingBuffer {
+
+    static final int HEADER_LENGTH = 8;
+    static final int ALIGNMENT = 8;
+
+    private static final int TYPE_OFFSET = 4;
+    private static final int TYPE_MESSAGE = 1;
+    private static final int TYPE_PADDING = 2;
+
+    private static final VarHandle INT = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.nativeOrder());
+
+    private final String name;
+    private final int capacity;
+    private final int mask;
+    private final int maxRecordLength;
+    private final ProducerMode mode;
+    private final WaitStrategy waitStrategy;
+
+    private final ByteBuffer buffer;
+    private final ByteBuffer readView;
+
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicBoolean consuming = new AtomicBoolean();
+    private volatile boolean closed;
+
+    int references;
+
+    RingBuffer(@NotNull String name, int capacity, @NotNull ProducerMode mode, @NotNull WaitStrategy waitStrategy) {
+        this.name = name;
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        this.maxRecordLength = capacity / 2;
+        this.mode = mode;
+        this.waitStrategy = waitStrategy;
+
+        this.buffer = ByteBuffer.allocateDirect(capacity + ALIGNMENT).alignedSlice(ALIGNMENT).order(ByteOrder.nativeOrder());
+        this.readView = buffer.asReadOnlyBuffer();
+    }
+
+    @NotNull
+    String getName() {
+        return name;
+    }
+
+    int getCapacity() {
+        return capacity;
+    }
+
+    int getMaxMessageLength() {
+        return maxRecordLength - HEADER_LENGTH;
+    }
+
+    @NotNull
+    ProducerMode getMode() {
+        return mode;
+    }
+
+    @NotNull
+    WaitStrategy getWaitStrategy() {
+        return waitStrategy;
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    void close() {
+        closed = true;
+        waitStrategy.signal();
+    }
+
+    static int recordLength(int length) {
+        return (HEADER_LENGTH + length + ALIGNMENT - 1) & -ALIGNMENT;
+    }
+
+    void checkLength(int length) {
+        if (length < 0 || length > getMaxMessageLength())
+            throw new IllegalArgumentException(String.format("Message length %d exceeds the maximum of %d for channel %s", length, getMaxMessageLength(), name));
+    }
+
+    /**
+     * Claims {@code required} contiguous bytes, returning the index of the first record or -1 if the buffer is full.
+     */
+    int claim(int required) {
+        if (required > maxRecordLength)
+            throw new IllegalArgumentException(String.format("%d bytes exceed the maximum batch size of %d for channel %s", required, maxRecordLength, name));
+
+        long tail;
+        int padding;
+
+        do {
+            tail = this.tail.get();
+            padding = padding(head.get(), tail, required);
+            if (padding < 0)
+                return -1;
+
+            if (mode == ProducerMode.SINGLE) {
+                this.tail.lazySet(tail + padding + required);
+                break;
+            }
+        } while (!this.tail.compareAndSet(tail, tail + padding + required));
+
+        int index = (int) tail & mask;
+        if (padding != 0) {
+            buffer.putInt(index + TYPE_OFFSET, TYPE_PADDING);
+            INT.setRelease(buffer, index, padding);
+            return 0;
+        }
+        return index;
+    }
+
+    boolean hasCapacity(int required) {
+        return padding(head.get(), tail.get(), required) >= 0;
+    }
+
+    private int padding(long head, long tail, int required) {
+        if (required > capacity - (int) (tail - head))
+            return -1;
+
+        int toEnd = capacity - ((int) tail & mask);
+        if (required <= toEnd)
+            return 0;
+
+        return required > ((int) head & mask) ? -1 : toEnd;
+    }
+
+    @NotNull
+    ByteBuffer writeView(int index, int length) {
+        ByteBuffer view = buffer.duplicate();
+        view.limit(index + HEADER_LENGTH + length).position(index + HEADER_LENGTH);
+        return view.slice();
+    }
+
+    void commit(int index, int length) {
+        buffer.putInt(index + TYPE_OFFSET, TYPE_MESSAGE);
+        INT.setRelease(buffer, index, HEADER_LENGTH + length);
+    }
+
+    void abort(int index, int length) {
+        buffer.putInt(index + TYPE_OFFSET, TYPE_PADDING);
+        INT.setRelease(buffer, index, recordLength(length));
+    }
+
+    boolean hasMessage() {
+        return (int) INT.getAcquire(buffer, (int) head.get() & mask) > 0;
+    }
+
+    int read(@NotNull MessageHandler handler, int limit) {
+        if (!consuming.compareAndSet(false, true))
+            throw new IllegalStateException(String.format("Channel %s is already being consumed", name));
+
+        long head = this.head.get();
+        int headIndex = (int) head & mask;
+        int contiguous = capacity - headIndex;
+        int bytesRead = 0;
+        int messages = 0;
+
+        try {
+            while (bytesRead < contiguous && messages < limit) {
+                int index = headIndex + bytesRead;
+                int length = (int) INT.getAcquire(buffer, index);
+                if (length <= 0)
+                    break;
+
+                bytesRead += (length + ALIGNMENT - 1) & -ALIGNMENT;
+
+                if (buffer.getInt(index + TYPE_OFFSET) == TYPE_MESSAGE) {
+                    messages++;
+                    readView.limit(index + length).position(index + HEADER_LENGTH);
+                    handler.onMessage(readView);
+                }
+            }
+        } finally {
+            if (bytesRead > 0) {
+                for (int i = headIndex; i < headIndex + bytesRead; i += ALIGNMENT)
+                    buffer.putLong(i, 0L);
+                this.head.set(head + bytesRead);
+                waitStrategy.signal();
+            }
+            readView.clear();
+            consuming.set(false);
+        }
+        return messages;
+    }
+}
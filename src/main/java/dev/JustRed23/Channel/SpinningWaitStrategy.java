@@ -0,0 +1,27 @@
+package dev.JustRed23.Channel;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.BooleanSupplier;
+
+public final class SpinningWaitStrategy implements WaitStrategy {
+
+    private static final int SPIN_TRIES = 100;
+
+    public void await(@NotNull BooleanSupplier ready) throws InterruptedException {
+        int tries = 0;
+        while (!ready.getAsBoolean()) {
+            if (Thread.interrupted())
+                throw new InterruptedException();
+
+            if (tries < SPIN_TRIES) {
+                tries++;
+                Thread.onSpinWait();
+            } else {
+                Thread.yield();
+            }
+        }
+    }
+
+    public void signal() {}
+}
@@ -0,0 +1,22 @@
+package dev.JustRed23.Channel;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.BooleanSupplier;
+
+public interface WaitStrategy {
+
+    void await(@NotNull BooleanSupplier ready) throws InterruptedException;
+
+    void signal();
+
+    @NotNull
+    static WaitStrategy blocking() {
+        return new BlockingWaitStrategy();
+    }
+
+    @NotNull
+    static WaitStrategy spinning() {
+        return new SpinningWaitStrategy();
+    }
+}
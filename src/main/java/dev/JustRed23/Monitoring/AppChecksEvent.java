@@ -0,0 +1,25 @@
+package dev.JustRed23.Monitoring;
+
+import jdk.jfr.*;
+
+@Name("dev.JustRed23.AppChecks")
+@Label("App Checks")
+@Category({"Phone", "Apps"})
+@Description("Loading, verification and instantiation of the main class of an app")
+@StackTrace(false)
+public class AppChecksEvent extends Event {
+
+    @Label("App Name")
+    public String appName;
+
+    @Label("Main Class")
+    public String mainClass;
+
+    @Label("Success")
+    public boolean success;
+
+    public AppChecksEvent(String appName, String mainClass) {
+        this.appName = appName;
+        this.mainClass = mainClass;
+    }
+}
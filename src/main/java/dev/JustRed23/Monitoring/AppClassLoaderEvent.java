@@ -0,0 +1,25 @@
+package dev.JustRed23.Monitoring;
+
+import jdk.jfr.*;
+
+@Name("dev.JustRed23.AppClassLoader")
+@Label("App Class Loader")
+@Category({"Phone", "Apps"})
+@Description("Construction of an AppClassLoader, including the checks on the main class")
+@StackTrace(false)
+public class AppClassLoaderEvent extends Event {
+
+    @Label("App Name")
+    public String appName;
+
+    @Label("Jar File")
+    public String jarFile;
+
+    @Label("Success")
+    public boolean success;
+
+    public AppClassLoaderEvent(String appName, String jarFile) {
+        this.appName = appName;
+        this.jarFile = jarFile;
+    }
+}
@@ -0,0 +1,24 @@
+package dev.JustRed23.Monitoring;
+
+import jdk.jfr.*;
+
+@Name("dev.JustRed23.AppDescription")
+@Label("App Description")
+@Category({"Phone", "Apps"})
+@Description("Reading and parsing of an app descriptor")
+@StackTrace(false)
+public class AppDescriptionEvent extends Event {
+
+    @Label("App Name")
+    public String appName;
+
+    @Label("Jar File")
+    public String jarFile;
+
+    @Label("Success")
+    public boolean success;
+
+    public AppDescriptionEvent(String jarFile) {
+        this.jarFile = jarFile;
+    }
+}
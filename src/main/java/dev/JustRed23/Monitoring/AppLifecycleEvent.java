@@ -0,0 +1,25 @@
+package dev.JustRed23.Monitoring;
+
+import jdk.jfr.*;
+
+@Name("dev.JustRed23.AppLifecycle")
+@Label("App Lifecycle Callback")
+@Category({"Phone", "Apps"})
+@Description("Invocation of onLoad, onEnable or onDisable on an app")
+@StackTrace(false)
+public class AppLifecycleEvent extends Event {
+
+    @Label("App Name")
+    public String appName;
+
+    @Label("Callback")
+    public String callback;
+
+    @Label("Success")
+    public boolean success;
+
+    public AppLifecycleEvent(String appName, String callback) {
+        this.appName = appName;
+        this.callback = callback;
+    }
+}
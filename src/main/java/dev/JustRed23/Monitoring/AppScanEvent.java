@@ -0,0 +1,27 @@
+package dev.JustRed23.Monitoring;
+
+import jdk.jfr.*;
+
+@Name("dev.JustRed23.AppScan")
+@Label("App Scan")
+@Category({"Phone", "Apps"})
+@Description("Scan of an app folder by AppManager.loadApps")
+@StackTrace(false)
+public class AppScanEvent extends Event {
+
+    @Label("Directory")
+    public String directory;
+
+    @Label("Files Scanned")
+    public int filesScanned;
+
+    @Label("Apps Found")
+    public int appsFound;
+
+    @Label("Apps Loaded")
+    public int appsLoaded;
+
+    public AppScanEvent(String directory) {
+        this.directory = directory;
+    }
+}
@@ -0,0 +1,27 @@
+package dev.JustRed23.Monitoring;
+
+import jdk.jfr.*;
+
+@Name("dev.JustRed23.ClassDefine")
+@Label("App Class Define")
+@Category({"Phone", "Classes"})
+@Description("Definition of a class from an app jar")
+@Threshold("1 ms")
+@StackTrace(false)
+public class ClassDefineEvent extends Event {
+
+    @Label("App Name")
+    public String appName;
+
+    @Label("Class Name")
+    public String className;
+
+    @Label("Class Size")
+    @DataAmount
+    public int bytes;
+
+    public ClassDefineEvent(String appName, String className) {
+        this.appName = appName;
+        this.className = className;
+    }
+}
@@ -0,0 +1,20 @@
+package dev.JustRed23.Monitoring;
+
+import jdk.jfr.*;
+
+@Name("dev.JustRed23.ClassLookupMiss")
+@Label("App Class Lookup Miss")
+@Category({"Phone", "Classes"})
+@Description("Class that could not be found in any app by AppLoader.getClassByName")
+public class ClassLookupMissEvent extends Event {
+
+    @Label("Class Name")
+    public String className;
+
+    @Label("Loaders Searched")
+    public int loadersSearched;
+
+    public ClassLookupMissEvent(String className) {
+        this.className = className;
+    }
+}
@@ -1,42 +1,168 @@
 package dev.JustRed23.Phone;
 
 import dev.JustRed23.App.App;
+import dev.JustRed23.App.AppBootstrap;
 import dev.JustRed23.App.AppManager;
+import dev.JustRed23.App.AppManagerConfig;
+import dev.JustRed23.App.ResourceQuota;
+import dev.JustRed23.App.SharedJarCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 public class Phone {
 
     private static final Logger mainLogger = LoggerFactory.getLogger(Phone.class.getCanonicalName());
     public static String protectedPackage = "dev.JustRed23.";
 
-    private static AppManager manager = new AppManager();
+    private static final SharedJarCache jarCache = new SharedJarCache();
+    private static final Map<String, AppManager> managers = new LinkedHashMap<>();
 
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException, InterruptedException {
         mainLogger.info("Starting up...");
-        loadApps();
-        mainLogger.info("Loaded " + manager.getApps().length + " app(s) successfully");
+
+        Map<String, String> options = parseOptions(args);
+
+        for (AppManagerConfig config : parseTenants(args)) {
+            if (managers.containsKey(config.getName()))
+                throw new IllegalArgumentException("Duplicate tenant " + config.getName());
+
+            AppManager manager = new AppManager(config);
+            managers.put(config.getName(), manager);
+            startResourceMonitor(manager);
+        }
+
+        if (options.containsKey("bootstrap")) {
+            bootstrap(options);
+            return;
+        }
+
+        for (Map.Entry<String, AppManager> tenant : managers.entrySet()) {
+            loadApps(tenant.getValue());
+            mainLogger.info("Loaded " + tenant.getValue().getApps().length + " app(s) successfully for " + tenant.getKey());
+        }
     }
 
-    private static void loadApps() {
-        File appFolder = new File("D:\\Apps\\");
+    /**
+     * Loads every tenant in the background and keeps running until the JVM is shut down. Readiness is published
+     * through {@code --ready-port=<port>} and/or {@code --ready-file=<file>}, {@code --threads=<n>} sets the number of
+     * apps each tenant bootstraps concurrently.
+     */
+    private static void bootstrap(Map<String, String> options) throws IOException, InterruptedException {
+        int threads = Integer.parseInt(options.getOrDefault("threads", "1"));
+        String readyFile = options.get("ready-file");
 
-        if (appFolder.exists()) {
-            for (App app : manager.loadApps(appFolder)) {
-                try {
-                    mainLogger.info("Loading " + app.getDescription().getFullName());
-                    app.onLoad();
-                } catch (Throwable e) {
-                    mainLogger.error("An error occurred while initializing " + app.getDescription().getFullName(), e);
-                }
+        Map<String, AppBootstrap> bootstraps = new LinkedHashMap<>();
+        ReadinessReporter reporter = new ReadinessReporter(bootstraps, readyFile != null ? new File(readyFile) : null);
+
+        for (Map.Entry<String, AppManager> tenant : managers.entrySet()) {
+            AppBootstrap bootstrap = new AppBootstrap(tenant.getValue(), threads);
+            bootstrap.addListener(reporter::update);
+            bootstrap.getCriticalFuture().whenComplete((ignored, e) -> {
+                if (e == null)
+                    mainLogger.info("Critical apps of " + tenant.getKey() + " are enabled");
+                else
+                    mainLogger.error("A critical app of " + tenant.getKey() + " failed", e);
+            });
+            bootstraps.put(tenant.getKey(), bootstrap);
+        }
+
+        if (options.containsKey("ready-port"))
+            reporter.startServer(Integer.parseInt(options.get("ready-port")));
+
+        CountDownLatch shutdown = new CountDownLatch(1);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            mainLogger.info("Shutting down...");
+            reporter.stop();
+            for (AppBootstrap bootstrap : bootstraps.values())
+                bootstrap.stop();
+            for (AppManager manager : managers.values())
+                manager.close();
+            shutdown.countDown();
+        }, "Phone-Shutdown"));
+
+        reporter.update();
+        for (AppBootstrap bootstrap : bootstraps.values())
+            bootstrap.start();
+
+        CompletableFuture.allOf(bootstraps.values().stream().map(AppBootstrap::getReadyFuture).toArray(CompletableFuture[]::new))
+                .whenComplete((ignored, e) -> mainLogger.info(reporter.isReady() ? "Ready" : "Started with failures"));
+
+        shutdown.await();
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--"))
+                continue;
+
+            int separator = arg.indexOf('=');
+            if (separator == -1)
+                options.put(arg.substring(2), "");
+            else
+                options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return options;
+    }
+
+    /**
+     * Every argument that is not an option describes one tenant as {@code [name=]appFolder[,dataFolder]}.
+     */
+    private static List<AppManagerConfig> parseTenants(String[] args) {
+        List<AppManagerConfig> tenants = new ArrayList<>();
+
+        for (String arg : args) {
+            if (arg.startsWith("--"))
+                continue;
+
+            String name = null;
+            int separator = arg.indexOf('=');
+            if (separator != -1) {
+                name = arg.substring(0, separator);
+                arg = arg.substring(separator + 1);
             }
+
+            String[] folders = arg.split(",", 2);
+            File appFolder = new File(folders[0]);
+
+            AppManagerConfig config = new AppManagerConfig()
+                    .setName(name != null ? name : appFolder.getName())
+                    .setAppFolder(appFolder)
+                    .setJarCache(jarCache);
+            if (folders.length > 1)
+                config.setDataFolder(new File(folders[1]));
+
+            tenants.add(config);
+        }
+
+        if (tenants.isEmpty())
+            tenants.add(new AppManagerConfig().setAppFolder(new File("D:\\Apps\\")).setJarCache(jarCache));
+        return tenants;
+    }
+
+    private static void loadApps(AppManager manager) {
+        File appFolder = manager.getConfig().getAppFolder();
+
+        if (appFolder.exists()) {
+            for (App app : manager.loadApps())
+                manager.initializeApp(app);
         } else {
             mainLogger.warn("Directory " + appFolder + " does not exist. Creating...");
         }
     }
 
+    private static void startResourceMonitor(AppManager manager) {
+        manager.getResourceMonitor().setDefaultQuota(ResourceQuota.fromProperties(System.getProperties(), "phone.quota."));
+        manager.getResourceMonitor().start(Long.getLong("phone.quota.interval", 5000), TimeUnit.MILLISECONDS);
+    }
+
     public static Logger getLogger() {
         return mainLogger;
     }
@@ -0,0 +1,148 @@
+package dev.JustRed23.Phone;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import dev.JustRed23.App.AppBootstrap;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Publishes the readiness of every tenant as a properties file and on a loopback HTTP server with a {@code /health}
+ * and a {@code /ready} endpoint.
+ */
+final class ReadinessReporter {
+
+    private final Map<String, AppBootstrap> bootstraps;
+    private final File file;
+    private final AtomicBoolean dirty = new AtomicBoolean();
+    private final Object writeLock = new Object();
+    private final ExecutorService writer;
+    private volatile boolean stopped;
+    private HttpServer server;
+
+    ReadinessReporter(@NotNull Map<String, AppBootstrap> bootstraps, @Nullable File file) {
+        this.bootstraps = bootstraps;
+        this.file = file;
+        this.writer = file != null ? Executors.newSingleThreadExecutor(new ThreadFactoryBuilder().setNameFormat("ReadinessReporter").setDaemon(true).build()) : null;
+    }
+
+    synchronized void startServer(int port) throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.createContext("/health", exchange -> respond(exchange, 200, "UP\n"));
+        server.createContext("/ready", exchange -> respond(exchange, isReady() ? 200 : 503, render()));
+        server.start();
+        Phone.getLogger().info("Readiness endpoint listening on " + server.getAddress());
+    }
+
+    /**
+     * Reports not ready from now on and writes that to the readiness file, so a supervisor never sees a stopped process
+     * as ready.
+     */
+    synchronized void stop() {
+        stopped = true;
+
+        if (server != null) {
+            server.stop(0);
+            server = null;
+        }
+
+        if (writer != null) {
+            writer.shutdown();
+            try {
+                writer.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            write();
+        }
+    }
+
+    boolean isReady() {
+        if (stopped)
+            return false;
+
+        for (AppBootstrap bootstrap : bootstraps.values()) {
+            AppBootstrap.Readiness readiness = bootstrap.getReadiness();
+            if (readiness != AppBootstrap.Readiness.READY && readiness != AppBootstrap.Readiness.DEGRADED)
+                return false;
+        }
+        return true;
+    }
+
+    @NotNull
+    String render() {
+        StringBuilder builder = new StringBuilder();
+        builder.append("ready=").append(isReady()).append('\n');
+
+        for (Map.Entry<String, AppBootstrap> tenant : bootstraps.entrySet()) {
+            String prefix = "tenant." + tenant.getKey() + '.';
+            builder.append(prefix).append("status=").append(stopped ? "STOPPED" : tenant.getValue().getReadiness()).append('\n');
+            tenant.getValue().getStates().forEach((app, state) -> builder.append(prefix).append("app.").append(app).append('=').append(state).append('\n'));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Schedules a rewrite of the readiness file. Called for every state change, so changes that arrive while a write
+     * is pending are coalesced into that write instead of each rewriting the file on the calling thread.
+     */
+    void update() {
+        if (file == null || !dirty.compareAndSet(false, true))
+            return;
+
+        try {
+            writer.execute(this::write);
+        } catch (RejectedExecutionException e) {
+            dirty.set(false);
+        }
+    }
+
+    private void write() {
+        synchronized (writeLock) {
+            dirty.set(false);
+            writeFile();
+        }
+    }
+
+    private void writeFile() {
+        Path target = file.toPath().toAbsolutePath();
+        try {
+            Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+            Files.write(temp, render().getBytes(StandardCharsets.UTF_8));
+            try {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            Phone.getLogger().warn("Could not write readiness file " + target, e);
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}